@@ -0,0 +1,61 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.model.Order;
+import com.restaurant.service.BatchPricingResult;
+import com.restaurant.service.OrderService;
+import com.restaurant.strategy.HappyHourPricingStrategy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reprocessamento de preços: um pedido por vez vs OrderService.calculateFinalPrices
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchPricingBenchmark {
+    private static final String[] TYPES = {"DINE_IN", "TAKEAWAY", "DELIVERY"};
+
+    @Param({"1000", "100000"})
+    public int orderCount;
+
+    private List<Order> orders;
+    private OrderService service;
+
+    @Setup
+    public void setUp() {
+        orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(BenchmarkFixtures.order(TYPES[i % TYPES.length], 1 + i % 5));
+        }
+        service = new OrderService(new HappyHourPricingStrategy());
+    }
+
+    @Benchmark
+    public void oneByOne(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(service.calculateFinalPriceCents(order));
+        }
+    }
+
+    @Benchmark
+    public BatchPricingResult batch() {
+        return service.calculateFinalPrices(orders);
+    }
+}
@@ -0,0 +1,67 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.decorator.BaconDecorator;
+import com.restaurant.decorator.BasicMenuItem;
+import com.restaurant.decorator.ExtraCheeseDecorator;
+import com.restaurant.decorator.ExtraPortionDecorator;
+import com.restaurant.decorator.SpecialSauceDecorator;
+import com.restaurant.model.DeliveryOrder;
+import com.restaurant.model.DineInOrder;
+import com.restaurant.model.MenuItem;
+import com.restaurant.model.Order;
+import com.restaurant.model.TakeawayOrder;
+
+/**
+ * Dados compartilhados pelos benchmarks
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Item com uma cadeia de decorators de profundidade depth (0 = item básico)
+     */
+    static MenuItem decoratedItem(int depth) {
+        MenuItem item = new BasicMenuItem("Hambúrguer Artesanal", "Pão, carne, alface, tomate", 25.00);
+        for (int i = 0; i < depth; i++) {
+            switch (i % 4) {
+                case 0:
+                    item = new ExtraCheeseDecorator(item);
+                    break;
+                case 1:
+                    item = new BaconDecorator(item);
+                    break;
+                case 2:
+                    item = new SpecialSauceDecorator(item, "Barbecue");
+                    break;
+                default:
+                    item = new ExtraPortionDecorator(item);
+                    break;
+            }
+        }
+        return item;
+    }
+
+    static Order newOrder(String type, int orderId) {
+        switch (type) {
+            case "DELIVERY":
+                return new DeliveryOrder(orderId, "João Santos", "Rua das Flores, 456");
+            case "TAKEAWAY":
+                return new TakeawayOrder(orderId, "Ana Costa");
+            default:
+                return new DineInOrder(orderId, "Maria Silva");
+        }
+    }
+
+    /**
+     * Pedido com itemCount itens, alternando itens simples e decorados
+     */
+    static Order order(String type, int itemCount) {
+        Order order = newOrder(type, 1);
+        for (int i = 0; i < itemCount; i++) {
+            order.addItem(decoratedItem(i % 4));
+        }
+        return order;
+    }
+}
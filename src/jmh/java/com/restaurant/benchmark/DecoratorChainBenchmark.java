@@ -0,0 +1,71 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.decorator.FlattenedMenuItem;
+import com.restaurant.model.MenuItem;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * getPrice/getName/getDescription em cadeias de decorators profundas,
+ * comparadas com o mesmo item achatado (FlattenedMenuItem)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DecoratorChainBenchmark {
+
+    @Param({"1", "4", "10"})
+    public int depth;
+
+    private MenuItem item;
+    private MenuItem flattened;
+
+    @Setup
+    public void setUp() {
+        item = BenchmarkFixtures.decoratedItem(depth);
+        flattened = FlattenedMenuItem.of(item);
+    }
+
+    @Benchmark
+    public double getPrice() {
+        return item.getPrice();
+    }
+
+    @Benchmark
+    public String getName() {
+        return item.getName();
+    }
+
+    @Benchmark
+    public String getDescription() {
+        return item.getDescription();
+    }
+
+    @Benchmark
+    public double flattenedGetPrice() {
+        return flattened.getPrice();
+    }
+
+    @Benchmark
+    public String flattenedGetName() {
+        return flattened.getName();
+    }
+
+    @Benchmark
+    public FlattenedMenuItem flatten() {
+        return FlattenedMenuItem.of(item);
+    }
+}
@@ -0,0 +1,78 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.delivery.AddressGeocoder;
+import com.restaurant.delivery.DeliveryZone;
+import com.restaurant.delivery.DeliveryZoneIndex;
+import com.restaurant.delivery.GeoPoint;
+import com.restaurant.delivery.ZoneFeeSchedule;
+import com.restaurant.model.DeliveryOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo da taxa de entrega por zona: primeira consulta de um endereço
+ * (geocodificação + índice de zonas), consulta em cache e a taxa já guardada
+ * no pedido
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeliveryFeeBenchmark {
+    private static final String ADDRESS = "Rua das Flores, 456";
+
+    private AddressGeocoder geocoder;
+    private DeliveryZoneIndex zones;
+    private ZoneFeeSchedule cachedSchedule;
+    private DeliveryOrder order;
+
+    @Setup
+    public void setUp() {
+        geocoder = new AddressGeocoder();
+        geocoder.register(ADDRESS, new GeoPoint(-23.561, -46.655));
+        // Grade de 10x10 zonas quadradas de ~1 km
+        List<DeliveryZone> zoneList = new ArrayList<>();
+        for (int row = 0; row < 10; row++) {
+            for (int column = 0; column < 10; column++) {
+                double lat = -23.50 - row * 0.01;
+                double lon = -46.60 - column * 0.01;
+                zoneList.add(new DeliveryZone("Zona " + row + "-" + column, 300 + 50L * (row + column),
+                    new GeoPoint(lat, lon), new GeoPoint(lat, lon - 0.01),
+                    new GeoPoint(lat - 0.01, lon - 0.01), new GeoPoint(lat - 0.01, lon)));
+            }
+        }
+        zones = new DeliveryZoneIndex(zoneList);
+        cachedSchedule = new ZoneFeeSchedule(geocoder, zones);
+        order = new DeliveryOrder(1, "João Santos", ADDRESS, cachedSchedule);
+        order.addItem(BenchmarkFixtures.decoratedItem(1));
+        order.calculateDeliveryFeeCents();
+    }
+
+    @Benchmark
+    public long firstLookup() {
+        return new ZoneFeeSchedule(geocoder, zones).feeCents(ADDRESS);
+    }
+
+    @Benchmark
+    public long cachedAddress() {
+        return cachedSchedule.feeCents(ADDRESS);
+    }
+
+    @Benchmark
+    public long orderFee() {
+        return order.calculateDeliveryFeeCents();
+    }
+}
@@ -0,0 +1,93 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderType;
+import com.restaurant.strategy.DiscountRuleEngine;
+import com.restaurant.strategy.Promotion;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Avaliação de pedidos pelo DiscountRuleEngine com centenas de promoções
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DiscountRuleEngineBenchmark {
+    private static final String[] TYPES = {"DINE_IN", "TAKEAWAY", "DELIVERY"};
+    private static final int ORDER_COUNT = 10_000;
+
+    @Param({"10", "300"})
+    public int promotionCount;
+
+    private Order[] orders;
+    private long[] totals;
+    private long[] finalPrices;
+    private DiscountRuleEngine engine;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Promotion> promotions = new ArrayList<>(promotionCount);
+        for (int i = 0; i < promotionCount; i++) {
+            Promotion.Builder promotion = i % 3 == 0
+                ? Promotion.fixed("Fixo " + i, 100 + random.nextInt(500))
+                : Promotion.percent("Percentual " + i, 100 + random.nextInt(1_000));
+            promotion.priority(random.nextInt(50))
+                .between(LocalTime.of(random.nextInt(24), 0), LocalTime.of(random.nextInt(24), 0))
+                .minimumTotal(random.nextInt(60))
+                .maxDiscount(5 + random.nextInt(20));
+            if (i % 4 == 0) {
+                promotion.onlyFor(OrderType.values()[random.nextInt(OrderType.values().length)]);
+            }
+            if (i % 5 == 0) {
+                promotion.on(DayOfWeek.of(1 + random.nextInt(7)));
+            }
+            if (i % 50 == 0) {
+                promotion.exclusive();
+            }
+            promotions.add(promotion.build());
+        }
+        engine = DiscountRuleEngine.compile(promotions, 40);
+
+        orders = new Order[ORDER_COUNT];
+        totals = new long[ORDER_COUNT];
+        finalPrices = new long[ORDER_COUNT];
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orders[i] = BenchmarkFixtures.order(TYPES[i % TYPES.length], 1 + i % 5);
+            totals[i] = orders[i].getTotalPriceCents();
+        }
+    }
+
+    @Benchmark
+    public void perOrder(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(engine.calculateFinalPriceCents(order));
+        }
+    }
+
+    @Benchmark
+    public long[] bulk() {
+        engine.calculateFinalPricesCents(orders, totals, 0, orders.length, finalPrices);
+        return finalPrices;
+    }
+}
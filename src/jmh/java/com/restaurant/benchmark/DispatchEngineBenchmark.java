@@ -0,0 +1,73 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.delivery.AddressGeocoder;
+import com.restaurant.delivery.DeliveryRun;
+import com.restaurant.delivery.DispatchEngine;
+import com.restaurant.delivery.GeoPoint;
+import com.restaurant.model.DeliveryOrder;
+import com.restaurant.model.OrderStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo de um dispatch() com pendingCount entregas prontas espalhadas em um
+ * raio de cerca de 8 km do restaurante
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DispatchEngineBenchmark {
+    private static final GeoPoint RESTAURANT = new GeoPoint(-23.55, -46.63);
+
+    @Param({"50", "200"})
+    public int pendingCount;
+
+    private DeliveryOrder[] orders;
+    private AddressGeocoder geocoder;
+    private DispatchEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUpOrders() {
+        Random random = new Random(42);
+        geocoder = new AddressGeocoder();
+        orders = new DeliveryOrder[pendingCount];
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < pendingCount; i++) {
+            String address = "Rua " + i + ", " + (100 + i);
+            geocoder.register(address, new GeoPoint(RESTAURANT.getLatitude() + (random.nextDouble() - 0.5) * 0.15,
+                RESTAURANT.getLongitude() + (random.nextDouble() - 0.5) * 0.15));
+            orders[i] = new DeliveryOrder(i, "Cliente " + i, address);
+            orders[i].restore(OrderStatus.READY, now.minusMinutes(random.nextInt(40)));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpEngine() {
+        engine = new DispatchEngine(geocoder, RESTAURANT);
+        for (DeliveryOrder order : orders) {
+            engine.submit(order);
+        }
+    }
+
+    @Benchmark
+    public List<DeliveryRun> dispatch() {
+        return engine.dispatch();
+    }
+}
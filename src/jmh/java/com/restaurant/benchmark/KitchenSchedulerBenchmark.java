@@ -0,0 +1,64 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.kitchen.KitchenBatch;
+import com.restaurant.kitchen.KitchenScheduler;
+import com.restaurant.model.Order;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rajada de pedidos na cozinha: enfileirar todos e esvaziar a fila em lotes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KitchenSchedulerBenchmark {
+    private static final String[] TYPES = {"DINE_IN", "TAKEAWAY", "DELIVERY"};
+
+    @Param({"100", "1000"})
+    public int burstSize;
+
+    private Order[] orders;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        orders = new Order[burstSize];
+        for (int i = 0; i < burstSize; i++) {
+            // IDs distintos para que cada pedido vire uma comanda
+            Order order = BenchmarkFixtures.newOrder(TYPES[i % TYPES.length], i);
+            for (int j = 0; j <= i % 4; j++) {
+                order.addItem(BenchmarkFixtures.decoratedItem(j));
+            }
+            orders[i] = order;
+        }
+    }
+
+    @Benchmark
+    public int burst() {
+        KitchenScheduler scheduler = new KitchenScheduler();
+        for (Order order : orders) {
+            scheduler.submit(order);
+        }
+        int batches = 0;
+        KitchenBatch batch;
+        while ((batch = scheduler.nextBatch()) != null) {
+            scheduler.complete(batch);
+            batches++;
+        }
+        return batches;
+    }
+}
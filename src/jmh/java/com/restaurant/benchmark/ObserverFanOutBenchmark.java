@@ -0,0 +1,63 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.observer.Observer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Custo de Order.notifyObservers com 1..1000 observers registrados, todos
+ * interessados no status atual ou todos inscritos só em outro status
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ObserverFanOutBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    public int observerCount;
+
+    private Order order;
+    private Order uninterestedOrder;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        order = BenchmarkFixtures.order("DINE_IN", 3);
+        uninterestedOrder = BenchmarkFixtures.order("DINE_IN", 3);
+        for (int i = 0; i < observerCount; i++) {
+            Observer observer = new Observer() {
+                @Override
+                public void update(Order order) {
+                    blackhole.consume(order.getStatus());
+                }
+            };
+            order.attach(observer);
+            uninterestedOrder.attach(observer, OrderStatus.READY);
+        }
+    }
+
+    @Benchmark
+    public void notifyObservers() {
+        order.notifyObservers();
+    }
+
+    @Benchmark
+    public void notifyUninterestedObservers() {
+        uninterestedOrder.notifyObservers();
+    }
+}
@@ -0,0 +1,58 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.codec.OrderCodec;
+import com.restaurant.model.Order;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Codificação e decodificação de um pedido com OrderCodec em um buffer reaproveitado
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderCodecBenchmark {
+
+    @Param({"1", "10"})
+    public int itemCount;
+
+    private Order order;
+    private ByteBuffer buffer;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkFixtures.order("DELIVERY", itemCount);
+        buffer = ByteBuffer.allocateDirect(64 * 1024);
+        encoded = ByteBuffer.allocateDirect(64 * 1024);
+        OrderCodec.encode(order, encoded);
+        encoded.flip();
+    }
+
+    @Benchmark
+    public ByteBuffer encode() {
+        buffer.clear();
+        OrderCodec.encode(order, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public Order decode() {
+        encoded.rewind();
+        return OrderCodec.decode(encoded);
+    }
+}
@@ -0,0 +1,63 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.observer.Observer;
+import com.restaurant.observer.OrderEventBus;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Custo de publicar uma mudança de status no OrderEventBus com 1..100
+ * observers registrados no consumidor compartilhado
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderEventBusBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int observerCount;
+
+    private OrderEventBus bus;
+    private Order order;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        bus = new OrderEventBus();
+        for (int i = 0; i < observerCount; i++) {
+            bus.register(new Observer() {
+                @Override
+                public void update(Order order) {
+                    blackhole.consume(order);
+                }
+            });
+        }
+        order = BenchmarkFixtures.order("DINE_IN", 3);
+    }
+
+    @TearDown
+    public void tearDown() {
+        bus.close();
+    }
+
+    @Benchmark
+    public void publish() {
+        bus.publish(order, OrderStatus.PREPARING);
+    }
+}
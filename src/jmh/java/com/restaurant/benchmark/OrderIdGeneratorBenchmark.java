@@ -0,0 +1,44 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.singleton.OrderIdGenerator;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Contenção na geração de IDs: antigo contador synchronized vs OrderIdGenerator
+ * com vários terminais criando pedidos ao mesmo tempo
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class OrderIdGeneratorBenchmark {
+
+    private final OrderIdGenerator generator = new OrderIdGenerator(1, OrderIdGenerator.DEFAULT_BLOCK_SIZE);
+    private int nextOrderId = 1;
+
+    /**
+     * Réplica do antigo RestaurantConfig.generateOrderId
+     */
+    @Benchmark
+    public synchronized int synchronizedCounter() {
+        return nextOrderId++;
+    }
+
+    @Benchmark
+    public int orderIdGenerator() {
+        return generator.nextId();
+    }
+}
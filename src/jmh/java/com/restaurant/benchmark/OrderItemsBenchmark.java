@@ -0,0 +1,56 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.model.MenuItem;
+import com.restaurant.model.Order;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Order.addItem/removeItem e getItems em pedidos grandes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderItemsBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int itemCount;
+
+    private Order order;
+    private MenuItem extra;
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkFixtures.order("DINE_IN", itemCount);
+        extra = BenchmarkFixtures.decoratedItem(2);
+    }
+
+    /**
+     * Adiciona e remove o mesmo item, mantendo o tamanho do pedido estável
+     */
+    @Benchmark
+    public double addThenRemove() {
+        order.addItem(extra);
+        order.removeItem(extra);
+        return order.getBasePrice();
+    }
+
+    @Benchmark
+    public List<MenuItem> getItems() {
+        return order.getItems();
+    }
+}
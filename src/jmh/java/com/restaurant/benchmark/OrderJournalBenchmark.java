@@ -0,0 +1,69 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.model.MenuItem;
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.persistence.OrderJournal;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo de registrar eventos no OrderJournal (group commit) vs sync() a cada evento
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderJournalBenchmark {
+    private Path file;
+    private OrderJournal journal;
+    private Order order;
+    private MenuItem item;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("order-journal", ".bin");
+        Files.delete(file);
+        journal = OrderJournal.open(file);
+        order = BenchmarkFixtures.order("DELIVERY", 1);
+        item = BenchmarkFixtures.decoratedItem(3);
+        journal.onCreated(order);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void statusChange() {
+        journal.onStatusChanged(order, OrderStatus.PREPARING);
+    }
+
+    @Benchmark
+    public void itemAdded() {
+        journal.onItemAdded(order, item);
+    }
+
+    @Benchmark
+    public void statusChangeWithSync() throws IOException {
+        journal.onStatusChanged(order, OrderStatus.PREPARING);
+        journal.sync();
+    }
+}
@@ -0,0 +1,59 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.model.Order;
+import com.restaurant.receipt.ReceiptRenderer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Renderização do pedido via Order.toString e direto em um buffer reaproveitado
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderToStringBenchmark {
+
+    @Param({"DINE_IN", "TAKEAWAY", "DELIVERY"})
+    public String orderType;
+
+    @Param({"3", "30"})
+    public int itemCount;
+
+    private Order order;
+    private final StringBuilder buffer = new StringBuilder(1024);
+
+    @Setup
+    public void setUp() {
+        order = BenchmarkFixtures.order(orderType, itemCount);
+    }
+
+    @Benchmark
+    public String render() {
+        return order.toString();
+    }
+
+    @Benchmark
+    public int renderIntoBuffer() {
+        buffer.setLength(0);
+        return ReceiptRenderer.appendReceipt(order, buffer).length();
+    }
+
+    @Benchmark
+    public int kitchenTicket() {
+        buffer.setLength(0);
+        return ReceiptRenderer.appendKitchenTicket(order, buffer).length();
+    }
+}
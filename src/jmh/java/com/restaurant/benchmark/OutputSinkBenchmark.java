@@ -0,0 +1,73 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.observer.KitchenObserver;
+import com.restaurant.output.AsyncOutputSink;
+import com.restaurant.output.OutputSink;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Custo de uma notificação do KitchenObserver para a thread do pedido,
+ * escrevendo de forma síncrona em um PrintStream (como System.out) ou
+ * enfileirando no AsyncOutputSink; ambos gravam em /dev/null
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputSinkBenchmark {
+
+    @Param({"printStream", "async"})
+    public String sink;
+
+    private FileOutputStream devNull;
+    private AsyncOutputSink async;
+    private KitchenObserver kitchen;
+    private Order order;
+
+    @Setup
+    public void setUp() throws IOException {
+        devNull = new FileOutputStream("/dev/null");
+        OutputSink output;
+        if ("async".equals(sink)) {
+            async = new AsyncOutputSink(devNull.getChannel());
+            output = async;
+        } else {
+            PrintStream printStream = new PrintStream(devNull, true, "UTF-8");
+            output = printStream::print;
+        }
+        kitchen = new KitchenObserver("Cozinha", output);
+        order = BenchmarkFixtures.order("DINE_IN", 3);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (async != null) {
+            async.close();
+        }
+        devNull.close();
+    }
+
+    @Benchmark
+    public void notifyKitchen() {
+        kitchen.update(order, OrderStatus.PREPARING);
+    }
+}
@@ -0,0 +1,65 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.model.Order;
+import com.restaurant.payment.PaymentPipeline;
+import com.restaurant.payment.SimulatedPaymentProcessor;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tempo para liquidar 500 pedidos entregues em um processador com 1 ms de
+ * latência por chamada, enviando um pedido por chamada ou em lotes
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaymentPipelineBenchmark {
+    private static final int ORDER_COUNT = 500;
+
+    @Param({"1", "50"})
+    public int maxBatchSize;
+
+    private Order[] orders;
+    private PaymentPipeline pipeline;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        orders = new Order[ORDER_COUNT];
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orders[i] = BenchmarkFixtures.newOrder("DINE_IN", i);
+            orders[i].addItem(BenchmarkFixtures.decoratedItem(1));
+        }
+        pipeline = new PaymentPipeline(new SimulatedPaymentProcessor(Duration.ofMillis(1), 0), maxBatchSize,
+            Duration.ofMillis(5), PaymentPipeline.DEFAULT_MAX_ATTEMPTS, PaymentPipeline.DEFAULT_INITIAL_BACKOFF);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        pipeline.close();
+    }
+
+    @Benchmark
+    public long settleDeliveredOrders() throws InterruptedException {
+        for (Order order : orders) {
+            pipeline.charge(order);
+        }
+        pipeline.flush(1, TimeUnit.MINUTES);
+        return pipeline.getProcessorCalls();
+    }
+}
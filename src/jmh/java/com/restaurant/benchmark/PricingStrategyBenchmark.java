@@ -0,0 +1,70 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.model.Order;
+import com.restaurant.strategy.CouponPricingStrategy;
+import com.restaurant.strategy.HappyHourPricingStrategy;
+import com.restaurant.strategy.LoyaltyPricingStrategy;
+import com.restaurant.strategy.PricingStrategy;
+import com.restaurant.strategy.RegularPricingStrategy;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PricingStrategy.calculateFinalPrice para as quatro estratégias
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PricingStrategyBenchmark {
+
+    @Param({"REGULAR", "HAPPY_HOUR", "COUPON", "LOYALTY"})
+    public String strategy;
+
+    @Param({"DINE_IN", "DELIVERY"})
+    public String orderType;
+
+    private PricingStrategy pricingStrategy;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        switch (strategy) {
+            case "HAPPY_HOUR":
+                pricingStrategy = new HappyHourPricingStrategy();
+                break;
+            case "COUPON":
+                pricingStrategy = new CouponPricingStrategy("BEMVINDO", 10.00);
+                break;
+            case "LOYALTY":
+                pricingStrategy = new LoyaltyPricingStrategy(250);
+                break;
+            default:
+                pricingStrategy = new RegularPricingStrategy();
+                break;
+        }
+        order = BenchmarkFixtures.order(orderType, 5);
+    }
+
+    @Benchmark
+    public double calculateFinalPrice() {
+        return pricingStrategy.calculateFinalPrice(order);
+    }
+
+    @Benchmark
+    public long calculateFinalPriceCents() {
+        return pricingStrategy.calculateFinalPriceCents(order);
+    }
+}
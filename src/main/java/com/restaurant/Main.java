@@ -1,5 +1,6 @@
 package com.restaurant;
 
+import com.restaurant.catalog.MenuCatalog;
 import com.restaurant.decorator.*;
 import com.restaurant.factory.*;
 import com.restaurant.model.*;
@@ -59,6 +60,14 @@ public class Main {
         
         RestaurantConfig config = RestaurantConfig.getInstance();
         
+        // Itens básicos compartilhados por todos os pedidos (Flyweight)
+        MenuCatalog catalog = new MenuCatalog();
+        catalog.register("BURGER", "Hambúrguer Artesanal", "Pão, carne, alface, tomate", 25.00);
+        catalog.register("FRIES", "Batata Frita", "Batatas crocantes", 12.00);
+        catalog.register("PIZZA", "Pizza Margherita", "Molho, queijo, manjericão", 35.00);
+        catalog.register("SODA", "Refrigerante", "Lata 350ml", 5.00);
+        catalog.register("CARBONARA", "Macarrão à Carbonara", "Massa, bacon, queijo, ovos", 28.00);
+        
         // === PEDIDO 1: Dine-In (Presencial) ===
         System.out.println("--- CRIANDO PEDIDO PRESENCIAL ---");
         OrderFactory dineInFactory = new DineInOrderFactory();
@@ -73,12 +82,12 @@ public class Main {
         order1.attach(paymentSystem);
         
         // Cria itens com DECORATOR
-        MenuItem burger = new BasicMenuItem("Hambúrguer Artesanal", "Pão, carne, alface, tomate", 25.00);
+        MenuItem burger = catalog.get("BURGER");
         MenuItem burgerWithExtras = new BaconDecorator(
             new ExtraCheeseDecorator(burger)
         );
         
-        MenuItem fries = new BasicMenuItem("Batata Frita", "Batatas crocantes", 12.00);
+        MenuItem fries = catalog.get("FRIES");
         MenuItem largeFries = new ExtraPortionDecorator(fries);
         
         order1.addItem(burgerWithExtras);
@@ -105,13 +114,13 @@ public class Main {
         order2.attach(paymentSystem);
         
         // Itens com múltiplos decorators
-        MenuItem pizza = new BasicMenuItem("Pizza Margherita", "Molho, queijo, manjericão", 35.00);
+        MenuItem pizza = catalog.get("PIZZA");
         MenuItem customPizza = new SpecialSauceDecorator(
             new ExtraCheeseDecorator(pizza),
             "Barbecue"
         );
         
-        MenuItem soda = new BasicMenuItem("Refrigerante", "Lata 350ml", 5.00);
+        MenuItem soda = catalog.get("SODA");
         
         order2.addItem(customPizza);
         order2.addItem(soda);
@@ -133,7 +142,7 @@ public class Main {
         
         order3.attach(kitchen);
         
-        MenuItem pasta = new BasicMenuItem("Macarrão à Carbonara", "Massa, bacon, queijo, ovos", 28.00);
+        MenuItem pasta = catalog.get("CARBONARA");
         order3.addItem(pasta);
         
         System.out.println("\n" + order3);
@@ -190,10 +199,10 @@ public class Main {
         System.out.println("\n--- MUDANDO ESTRATÉGIA EM TEMPO DE EXECUÇÃO ---");
         OrderService dynamicService = new OrderService();
         System.out.println("Estratégia inicial: Regular");
-        System.out.println("Preço: R$ " + String.format("%.2f", dynamicService.calculateFinalPrice(order)));
+        System.out.println("Preço: R$ " + Money.format(dynamicService.calculateFinalPriceCents(order)));
         
         dynamicService.setPricingStrategy(new HappyHourPricingStrategy());
         System.out.println("\nEstratégia alterada para: Happy Hour");
-        System.out.println("Novo preço: R$ " + String.format("%.2f", dynamicService.calculateFinalPrice(order)));
+        System.out.println("Novo preço: R$ " + Money.format(dynamicService.calculateFinalPriceCents(order)));
     }
 }
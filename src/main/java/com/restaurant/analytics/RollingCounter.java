@@ -0,0 +1,62 @@
+package com.restaurant.analytics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de janela deslizante: a janela é dividida em baldes de tempo fixo,
+ * reaproveitados em círculo, cada um com um LongAdder
+ *
+ * Somar é lock-free e sem contenção entre threads; um balde de uma volta
+ * anterior é trocado por um novo com compare-and-set. A leitura soma um número
+ * fixo de baldes, independente do volume de eventos.
+ */
+final class RollingCounter {
+    private final long bucketMillis;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    RollingCounter(int bucketCount, long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    void add(long nowMillis, long value) {
+        long slot = nowMillis / bucketMillis;
+        int index = (int) (slot % buckets.length());
+        Bucket bucket = buckets.get(index);
+        while (bucket == null || bucket.slot < slot) {
+            Bucket fresh = new Bucket(slot);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                bucket = fresh;
+                break;
+            }
+            bucket = buckets.get(index);
+        }
+        // Um balde mais novo no lugar significa que o evento já saiu da janela
+        if (bucket.slot == slot) {
+            bucket.sum.add(value);
+        }
+    }
+
+    long sum(long nowMillis) {
+        long newest = nowMillis / bucketMillis;
+        long oldest = newest - buckets.length() + 1;
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.slot >= oldest && bucket.slot <= newest) {
+                total += bucket.sum.sum();
+            }
+        }
+        return total;
+    }
+
+    private static final class Bucket {
+        private final long slot;
+        private final LongAdder sum = new LongAdder();
+
+        private Bucket(long slot) {
+            this.slot = slot;
+        }
+    }
+}
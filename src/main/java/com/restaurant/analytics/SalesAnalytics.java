@@ -0,0 +1,361 @@
+package com.restaurant.analytics;
+
+import com.restaurant.decorator.BasicMenuItem;
+import com.restaurant.decorator.FlattenedMenuItem;
+import com.restaurant.decorator.MenuItemDecorator;
+import com.restaurant.model.MenuItem;
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.model.OrderType;
+import com.restaurant.observer.Observer;
+import com.restaurant.service.PricingListener;
+import com.restaurant.strategy.PricingStrategy;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Indicadores de vendas em tempo real, calculados a partir dos eventos dos pedidos
+ *
+ * Recebe as mudanças de status como Observer (de preferência registrado no
+ * OrderEventBus) e os preços calculados como PricingListener do OrderService.
+ * Mantém, para o último minuto e a última hora:
+ * - faturamento e pedidos entregues por tipo de pedido;
+ * - itens vendidos por SKU do item básico e os mais vendidos;
+ * - descontos concedidos por estratégia de preço;
+ * - tempo médio de preparo (do pedido até READY).
+ *
+ * O faturamento de um pedido entregue é o último preço calculado para ele pelo
+ * OrderService (ou o total sem desconto, se ele nunca foi precificado). Cada
+ * pedido é contado uma única vez, mesmo que o evento DELIVERED chegue
+ * repetido (ex.: observer anexado ao pedido e registrado no barramento); os
+ * pedidos contados são lembrados pelo tempo da janela mais longa. Preços de
+ * pedidos que não foram entregues nem cancelados nesse tempo (ex.: cotações)
+ * também são esquecidos.
+ *
+ * Os contadores são janelas deslizantes de LongAdders, sem lock no caminho do
+ * pedido, e as consultas leem um número fixo de baldes. O ranking de itens é
+ * recalculado no máximo uma vez por segundo, por quem encontrar o ranking
+ * desatualizado, e lido sem cálculo pelas consultas.
+ */
+public class SalesAnalytics implements Observer, PricingListener {
+    public static final int DEFAULT_TOP_ITEMS = 10;
+
+    private static final long TOP_ITEMS_REFRESH_MILLIS = 1000;
+    private static final long PRUNE_MILLIS = 60_000;
+    private static final Set<OrderStatus> INTERESTED = Collections.unmodifiableSet(
+        EnumSet.of(OrderStatus.READY, OrderStatus.DELIVERED, OrderStatus.CANCELLED));
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+    private static final Window[] WINDOWS = Window.values();
+
+    /**
+     * Janelas deslizantes disponíveis nas consultas
+     */
+    public enum Window {
+        LAST_MINUTE(60, 1_000),
+        LAST_HOUR(60, 60_000);
+
+        private final int bucketCount;
+        private final long bucketMillis;
+
+        Window(int bucketCount, long bucketMillis) {
+            this.bucketCount = bucketCount;
+            this.bucketMillis = bucketMillis;
+        }
+
+        public Duration getLength() {
+            return Duration.ofMillis(bucketCount * bucketMillis);
+        }
+    }
+
+    private final Clock clock;
+    private final int topItemCount;
+    private final WindowedCounter[] revenueByType = new WindowedCounter[ORDER_TYPES.length];
+    private final WindowedCounter[] deliveredByType = new WindowedCounter[ORDER_TYPES.length];
+    private final ConcurrentHashMap<String, WindowedCounter> itemsBySku = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, WindowedCounter> discountsByStrategy = new ConcurrentHashMap<>();
+    private final WindowedCounter prepMillis = new WindowedCounter();
+    private final WindowedCounter prepCount = new WindowedCounter();
+    private final ConcurrentHashMap<Integer, PricedOrder> lastPrices = new ConcurrentHashMap<>();
+    // orderId -> instante em que o pedido entregue foi contado
+    private final ConcurrentHashMap<Integer, Long> delivered = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private volatile long prunedAt;
+    private final TopItems[] topItems = new TopItems[WINDOWS.length];
+
+    public SalesAnalytics() {
+        this(Clock.systemDefaultZone(), DEFAULT_TOP_ITEMS);
+    }
+
+    /**
+     * @param clock relógio usado para as janelas e o tempo de preparo
+     * @param topItemCount quantidade de itens no ranking de mais vendidos
+     */
+    public SalesAnalytics(Clock clock, int topItemCount) {
+        if (topItemCount <= 0) {
+            throw new IllegalArgumentException("Tamanho do ranking deve ser positivo");
+        }
+        this.clock = clock;
+        this.topItemCount = topItemCount;
+        for (int i = 0; i < ORDER_TYPES.length; i++) {
+            revenueByType[i] = new WindowedCounter();
+            deliveredByType[i] = new WindowedCounter();
+        }
+        for (int i = 0; i < WINDOWS.length; i++) {
+            topItems[i] = new TopItems();
+        }
+    }
+
+    @Override
+    public Set<OrderStatus> interestedStatuses() {
+        return INTERESTED;
+    }
+
+    @Override
+    public void update(Order order) {
+        update(order, order.getStatus());
+    }
+
+    @Override
+    public void update(Order order, OrderStatus status) {
+        long now = clock.millis();
+        if (status == OrderStatus.READY) {
+            long prep = Duration.between(order.getOrderTime(), LocalDateTime.now(clock)).toMillis();
+            if (prep >= 0) {
+                prepMillis.add(now, prep);
+                prepCount.add(now, 1);
+            }
+        } else if (status == OrderStatus.DELIVERED) {
+            recordDelivered(order, now);
+        } else if (status == OrderStatus.CANCELLED) {
+            lastPrices.remove(order.getOrderId());
+        }
+    }
+
+    /**
+     * Guarda o último preço calculado do pedido, contabilizado quando ele for entregue
+     */
+    @Override
+    public void onPriced(Order order, PricingStrategy strategy, long originalPriceCents, long finalPriceCents) {
+        long now = clock.millis();
+        pruneIfStale(now);
+        int orderId = order.getOrderId();
+        // Atômico com o remove de recordDelivered: um pedido já contado mantém o
+        // preço que ainda não foi retirado e nunca recebe um novo
+        lastPrices.compute(orderId, (id, current) -> delivered.containsKey(id) ? current
+            : new PricedOrder(strategy.getStrategyName(), originalPriceCents, finalPriceCents, now));
+    }
+
+    private void recordDelivered(Order order, long now) {
+        pruneIfStale(now);
+        if (delivered.putIfAbsent(order.getOrderId(), now) != null) {
+            return;
+        }
+        PricedOrder priced = lastPrices.remove(order.getOrderId());
+        int type = order.getOrderType().ordinal();
+        revenueByType[type].add(now, priced != null ? priced.finalPriceCents : order.getTotalPriceCents());
+        deliveredByType[type].add(now, 1);
+        if (priced != null && priced.originalPriceCents > priced.finalPriceCents) {
+            discountsByStrategy.computeIfAbsent(priced.strategyName, name -> new WindowedCounter())
+                .add(now, priced.originalPriceCents - priced.finalPriceCents);
+        }
+        for (MenuItem item : order.getItems()) {
+            itemsBySku.computeIfAbsent(skuOf(item), sku -> new WindowedCounter()).add(now, 1);
+        }
+        for (Window window : WINDOWS) {
+            refreshTopItemsIfStale(window, now);
+        }
+    }
+
+    /**
+     * Faturamento em centavos dos pedidos do tipo entregues na janela
+     */
+    public long getRevenueCents(OrderType type, Window window) {
+        return revenueByType[type.ordinal()].sum(clock.millis(), window);
+    }
+
+    /**
+     * Faturamento em centavos de todos os pedidos entregues na janela
+     */
+    public long getRevenueCents(Window window) {
+        long now = clock.millis();
+        long total = 0;
+        for (WindowedCounter revenue : revenueByType) {
+            total += revenue.sum(now, window);
+        }
+        return total;
+    }
+
+    public long getDeliveredOrders(OrderType type, Window window) {
+        return deliveredByType[type.ordinal()].sum(clock.millis(), window);
+    }
+
+    /**
+     * Unidades vendidas do item básico (com ou sem extras) na janela
+     */
+    public long getItemsSold(String sku, Window window) {
+        WindowedCounter counter = itemsBySku.get(sku);
+        return counter == null ? 0 : counter.sum(clock.millis(), window);
+    }
+
+    /**
+     * Itens mais vendidos na janela, do mais vendido para o menos vendido
+     * (atualizado no máximo uma vez por segundo)
+     */
+    public List<ItemSales> getTopItems(Window window) {
+        refreshTopItemsIfStale(window, clock.millis());
+        return topItems[window.ordinal()].ranking;
+    }
+
+    /**
+     * Total de descontos em centavos concedidos pela estratégia (pelo nome) em pedidos entregues na janela
+     */
+    public long getDiscountCents(String strategyName, Window window) {
+        WindowedCounter counter = discountsByStrategy.get(strategyName);
+        return counter == null ? 0 : counter.sum(clock.millis(), window);
+    }
+
+    /**
+     * Tempo médio entre o pedido e READY dos pedidos que ficaram prontos na janela
+     */
+    public Duration getAveragePrepTime(Window window) {
+        long now = clock.millis();
+        long count = prepCount.sum(now, window);
+        return count == 0 ? Duration.ZERO : Duration.ofMillis(prepMillis.sum(now, window) / count);
+    }
+
+    private void refreshTopItemsIfStale(Window window, long now) {
+        TopItems top = topItems[window.ordinal()];
+        if (now - top.refreshedAt < TOP_ITEMS_REFRESH_MILLIS || !top.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            PriorityQueue<ItemSales> best = new PriorityQueue<>(topItemCount + 1,
+                (a, b) -> Long.compare(a.quantity, b.quantity));
+            for (Map.Entry<String, WindowedCounter> entry : itemsBySku.entrySet()) {
+                long quantity = entry.getValue().sum(now, window);
+                if (quantity > 0 && (best.size() < topItemCount || quantity > best.peek().quantity)) {
+                    best.add(new ItemSales(entry.getKey(), quantity));
+                    if (best.size() > topItemCount) {
+                        best.poll();
+                    }
+                }
+            }
+            List<ItemSales> ranking = new ArrayList<>(best);
+            ranking.sort((a, b) -> Long.compare(b.quantity, a.quantity));
+            top.ranking = Collections.unmodifiableList(ranking);
+            top.refreshedAt = now;
+        } finally {
+            top.refreshing.set(false);
+        }
+    }
+
+    /**
+     * Esquece, no máximo uma vez por minuto, os pedidos contados e os preços
+     * calculados antes da janela mais longa
+     */
+    private void pruneIfStale(long now) {
+        if (now - prunedAt < PRUNE_MILLIS || !pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long oldest = now - Window.LAST_HOUR.getLength().toMillis();
+            delivered.values().removeIf(countedAt -> countedAt < oldest);
+            lastPrices.values().removeIf(priced -> priced.pricedAt < oldest);
+            prunedAt = now;
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    private static String skuOf(MenuItem item) {
+        while (item instanceof MenuItemDecorator) {
+            item = ((MenuItemDecorator) item).getWrappedItem();
+        }
+        if (item instanceof FlattenedMenuItem) {
+            item = ((FlattenedMenuItem) item).getBaseItem();
+        }
+        return item instanceof BasicMenuItem ? ((BasicMenuItem) item).getSku() : item.getName();
+    }
+
+    /**
+     * Quantidade vendida de um SKU
+     */
+    public static final class ItemSales {
+        private final String sku;
+        private final long quantity;
+
+        ItemSales(String sku, long quantity) {
+            this.sku = sku;
+            this.quantity = quantity;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        public long getQuantity() {
+            return quantity;
+        }
+
+        @Override
+        public String toString() {
+            return sku + "=" + quantity;
+        }
+    }
+
+    /**
+     * Um contador deslizante por janela
+     */
+    private static final class WindowedCounter {
+        private final RollingCounter[] counters = new RollingCounter[WINDOWS.length];
+
+        WindowedCounter() {
+            for (Window window : WINDOWS) {
+                counters[window.ordinal()] = new RollingCounter(window.bucketCount, window.bucketMillis);
+            }
+        }
+
+        void add(long nowMillis, long value) {
+            for (RollingCounter counter : counters) {
+                counter.add(nowMillis, value);
+            }
+        }
+
+        long sum(long nowMillis, Window window) {
+            return counters[window.ordinal()].sum(nowMillis);
+        }
+    }
+
+    private static final class PricedOrder {
+        private final String strategyName;
+        private final long originalPriceCents;
+        private final long finalPriceCents;
+        private final long pricedAt;
+
+        PricedOrder(String strategyName, long originalPriceCents, long finalPriceCents, long pricedAt) {
+            this.strategyName = strategyName;
+            this.originalPriceCents = originalPriceCents;
+            this.finalPriceCents = finalPriceCents;
+            this.pricedAt = pricedAt;
+        }
+    }
+
+    /**
+     * Ranking de mais vendidos de uma janela, substituído por inteiro a cada atualização
+     */
+    private static final class TopItems {
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile List<ItemSales> ranking = Collections.emptyList();
+        private volatile long refreshedAt = Long.MIN_VALUE / 2;
+    }
+}
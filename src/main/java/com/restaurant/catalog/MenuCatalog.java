@@ -0,0 +1,196 @@
+package com.restaurant.catalog;
+
+import com.restaurant.decorator.AddOn;
+import com.restaurant.decorator.BasicMenuItem;
+import com.restaurant.decorator.FlattenedMenuItem;
+import com.restaurant.decorator.MenuItemBuilder;
+import com.restaurant.model.MenuItem;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Catálogo de itens do cardápio (Flyweight)
+ *
+ * Mantém uma única instância imutável de BasicMenuItem por SKU e um cache das
+ * combinações de extras mais pedidas (ex.: hambúrguer + queijo + bacon), para
+ * que os pedidos referenciem objetos compartilhados em vez de criar cópias
+ * idênticas de itens, nomes e descrições.
+ */
+public class MenuCatalog {
+    public static final int DEFAULT_MAX_COMBOS = 10_000;
+
+    private final ConcurrentHashMap<String, BasicMenuItem> itemsBySku = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ComboKey, FlattenedMenuItem> combos = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> strings = new ConcurrentHashMap<>();
+    private final int maxCombos;
+
+    public MenuCatalog() {
+        this(DEFAULT_MAX_COMBOS);
+    }
+
+    public MenuCatalog(int maxCombos) {
+        this.maxCombos = maxCombos;
+    }
+
+    /**
+     * Cadastra um item e retorna a instância canônica do SKU
+     *
+     * Recadastrar o mesmo SKU com dados iguais devolve a instância existente;
+     * com dados diferentes (ex.: mudança de preço) a substitui e descarta as
+     * combinações em cache daquele SKU.
+     */
+    public BasicMenuItem register(String sku, String name, String description, double price) {
+        BasicMenuItem candidate = new BasicMenuItem(intern(sku), intern(name), intern(description), price);
+        BasicMenuItem existing = itemsBySku.putIfAbsent(candidate.getSku(), candidate);
+        if (existing == null) {
+            return candidate;
+        }
+        if (sameItem(existing, candidate)) {
+            return existing;
+        }
+        itemsBySku.put(candidate.getSku(), candidate);
+        combos.keySet().removeIf(key -> key.sku.equals(candidate.getSku()));
+        return candidate;
+    }
+
+    /**
+     * Instância canônica do SKU
+     */
+    public BasicMenuItem get(String sku) {
+        BasicMenuItem item = itemsBySku.get(sku);
+        if (item == null) {
+            throw new IllegalArgumentException("SKU desconhecido no cardápio: " + sku);
+        }
+        return item;
+    }
+
+    public boolean contains(String sku) {
+        return itemsBySku.containsKey(sku);
+    }
+
+    public Collection<BasicMenuItem> getItems() {
+        return Collections.unmodifiableCollection(itemsBySku.values());
+    }
+
+    /**
+     * Combinação compartilhada de um item com extras, na ordem informada
+     */
+    public FlattenedMenuItem combo(String sku, AddOn... addOns) {
+        return combo(sku, Arrays.asList(addOns));
+    }
+
+    /**
+     * Uma combinação em cache só vale se foi montada sobre a instância atual
+     * do SKU: um combo() concorrente com register() pode gravar uma combinação
+     * do item antigo depois da limpeza, e ela é trocada no próximo acesso.
+     */
+    public FlattenedMenuItem combo(String sku, List<AddOn> addOns) {
+        BasicMenuItem base = get(sku);
+        ComboKey key = new ComboKey(sku, addOns);
+        FlattenedMenuItem cached = combos.get(key);
+        if (cached != null) {
+            if (cached.getBaseItem() == base) {
+                return cached;
+            }
+            combos.remove(key, cached);
+        }
+        MenuItemBuilder builder = MenuItemBuilder.of(base);
+        for (AddOn addOn : addOns) {
+            builder.with(internSauce(addOn));
+        }
+        FlattenedMenuItem combo = builder.build();
+        if (combos.size() >= maxCombos) {
+            return combo;
+        }
+        ComboKey storedKey = new ComboKey(sku, List.copyOf(combo.getAddOns()));
+        FlattenedMenuItem raced = combos.putIfAbsent(storedKey, combo);
+        if (raced == null) {
+            return combo;
+        }
+        if (raced.getBaseItem() == base) {
+            return raced;
+        }
+        combos.replace(storedKey, raced, combo);
+        return combo;
+    }
+
+    /**
+     * Troca um item recebido de fora (ex.: feed do PDV) pela instância compartilhada
+     * equivalente, quando o SKU está no catálogo
+     */
+    public MenuItem canonicalize(MenuItem item) {
+        if (item instanceof BasicMenuItem) {
+            BasicMenuItem canonical = itemsBySku.get(((BasicMenuItem) item).getSku());
+            return canonical != null && sameItem(canonical, (BasicMenuItem) item) ? canonical : item;
+        }
+        FlattenedMenuItem flattened = FlattenedMenuItem.of(item);
+        if (!(flattened.getBaseItem() instanceof BasicMenuItem)) {
+            return item;
+        }
+        BasicMenuItem base = (BasicMenuItem) flattened.getBaseItem();
+        BasicMenuItem canonical = itemsBySku.get(base.getSku());
+        if (canonical == null || !sameItem(canonical, base)) {
+            return item;
+        }
+        return combo(base.getSku(), flattened.getAddOns());
+    }
+
+    public int size() {
+        return itemsBySku.size();
+    }
+
+    public int comboCount() {
+        return combos.size();
+    }
+
+    private AddOn internSauce(AddOn addOn) {
+        if (addOn.getSauceName() == null) {
+            return addOn;
+        }
+        String sauceName = intern(addOn.getSauceName());
+        return sauceName == addOn.getSauceName() ? addOn : AddOn.specialSauce(sauceName);
+    }
+
+    private String intern(String value) {
+        String existing = strings.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    private static boolean sameItem(BasicMenuItem a, BasicMenuItem b) {
+        return a.getName().equals(b.getName())
+            && a.getDescription().equals(b.getDescription())
+            && a.getPriceCents() == b.getPriceCents();
+    }
+
+    private static final class ComboKey {
+        private final String sku;
+        private final List<AddOn> addOns;
+        private final int hash;
+
+        private ComboKey(String sku, List<AddOn> addOns) {
+            this.sku = sku;
+            this.addOns = addOns;
+            this.hash = 31 * sku.hashCode() + addOns.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ComboKey)) {
+                return false;
+            }
+            ComboKey other = (ComboKey) o;
+            return hash == other.hash && sku.equals(other.sku) && addOns.equals(other.addOns);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
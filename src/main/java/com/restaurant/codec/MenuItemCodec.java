@@ -0,0 +1,132 @@
+package com.restaurant.codec;
+
+import com.restaurant.catalog.MenuCatalog;
+import com.restaurant.decorator.AddOn;
+import com.restaurant.decorator.BaconDecorator;
+import com.restaurant.decorator.BasicMenuItem;
+import com.restaurant.decorator.ExtraCheeseDecorator;
+import com.restaurant.decorator.ExtraPortionDecorator;
+import com.restaurant.decorator.FlattenedMenuItem;
+import com.restaurant.decorator.MenuItemDecorator;
+import com.restaurant.decorator.SpecialSauceDecorator;
+import com.restaurant.model.MenuItem;
+import java.nio.ByteBuffer;
+
+/**
+ * Codec binário de itens do cardápio, incluindo cadeias de decorators
+ *
+ * Formato (versão 1):
+ * [versão][forma][sku][nome][descrição][preço em centavos][extras...][FIM]
+ *
+ * O item básico vem primeiro e os extras seguem na ordem de aplicação, cada um
+ * identificado por uma tag fixa (o molho especial leva também o nome do molho).
+ * A forma indica se o item original era uma cadeia de decorators ou um
+ * FlattenedMenuItem, e a decodificação reconstrói o mesmo formato.
+ *
+ * A codificação escreve direto no ByteBuffer recebido; se faltar espaço é
+ * lançada BufferOverflowException e cabe ao chamador usar um buffer maior.
+ */
+public final class MenuItemCodec {
+    public static final byte FORMAT_VERSION = 1;
+
+    private static final byte DECORATED = 0;
+    private static final byte FLATTENED = 1;
+
+    private static final byte TAG_END = 0;
+    private static final byte TAG_EXTRA_CHEESE = 1;
+    private static final byte TAG_BACON = 2;
+    private static final byte TAG_SPECIAL_SAUCE = 3;
+    private static final byte TAG_EXTRA_PORTION = 4;
+
+    private MenuItemCodec() {
+    }
+
+    public static void encode(MenuItem item, ByteBuffer buffer) {
+        buffer.put(FORMAT_VERSION);
+        buffer.put(item instanceof FlattenedMenuItem ? FLATTENED : DECORATED);
+        encodeChain(item, buffer);
+        buffer.put(TAG_END);
+    }
+
+    public static MenuItem decode(ByteBuffer buffer) {
+        checkVersion(buffer.get());
+        boolean flattened = buffer.get() == FLATTENED;
+        String sku = Utf8.read(buffer);
+        String name = Utf8.read(buffer);
+        String description = Utf8.read(buffer);
+        MenuItem item = BasicMenuItem.ofCents(sku, name, description, VarInts.readUnsignedLong(buffer));
+        byte tag;
+        while ((tag = buffer.get()) != TAG_END) {
+            item = decodeDecorator(tag, item, buffer);
+        }
+        return flattened ? FlattenedMenuItem.of(item) : item;
+    }
+
+    /**
+     * Decodifica trocando o item pela instância compartilhada do catálogo,
+     * quando o SKU (com os mesmos dados) estiver cadastrado nele
+     */
+    public static MenuItem decode(ByteBuffer buffer, MenuCatalog catalog) {
+        return catalog.canonicalize(decode(buffer));
+    }
+
+    private static void encodeChain(MenuItem item, ByteBuffer buffer) {
+        if (item instanceof MenuItemDecorator) {
+            MenuItemDecorator decorator = (MenuItemDecorator) item;
+            encodeChain(decorator.getWrappedItem(), buffer);
+            encodeAddOn(decorator.getAddOn(), buffer);
+        } else if (item instanceof FlattenedMenuItem) {
+            FlattenedMenuItem flattened = (FlattenedMenuItem) item;
+            encodeChain(flattened.getBaseItem(), buffer);
+            for (AddOn addOn : flattened.getAddOns()) {
+                encodeAddOn(addOn, buffer);
+            }
+        } else {
+            Utf8.write(buffer, item instanceof BasicMenuItem ? ((BasicMenuItem) item).getSku() : item.getName());
+            Utf8.write(buffer, item.getName());
+            Utf8.write(buffer, item.getDescription());
+            VarInts.writeUnsignedLong(buffer, item.getPriceCents());
+        }
+    }
+
+    private static void encodeAddOn(AddOn addOn, ByteBuffer buffer) {
+        switch (addOn.getKind()) {
+            case EXTRA_CHEESE:
+                buffer.put(TAG_EXTRA_CHEESE);
+                break;
+            case BACON:
+                buffer.put(TAG_BACON);
+                break;
+            case SPECIAL_SAUCE:
+                buffer.put(TAG_SPECIAL_SAUCE);
+                Utf8.write(buffer, addOn.getSauceName());
+                break;
+            case EXTRA_PORTION:
+                buffer.put(TAG_EXTRA_PORTION);
+                break;
+            default:
+                throw new IllegalArgumentException("Extra sem codificação: " + addOn.getKind());
+        }
+    }
+
+    private static MenuItem decodeDecorator(byte tag, MenuItem item, ByteBuffer buffer) {
+        switch (tag) {
+            case TAG_EXTRA_CHEESE:
+                return new ExtraCheeseDecorator(item);
+            case TAG_BACON:
+                return new BaconDecorator(item);
+            case TAG_SPECIAL_SAUCE:
+                return new SpecialSauceDecorator(item, Utf8.read(buffer));
+            case TAG_EXTRA_PORTION:
+                return new ExtraPortionDecorator(item);
+            default:
+                throw new IllegalArgumentException("Tag de extra desconhecida: " + tag);
+        }
+    }
+
+    private static void checkVersion(byte version) {
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Versão de codificação de item não suportada: " + version);
+        }
+    }
+}
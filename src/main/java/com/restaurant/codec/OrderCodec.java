@@ -0,0 +1,170 @@
+package com.restaurant.codec;
+
+import com.restaurant.catalog.MenuCatalog;
+import com.restaurant.model.DeliveryFeeSchedule;
+import com.restaurant.model.DeliveryOrder;
+import com.restaurant.model.DineInOrder;
+import com.restaurant.model.MenuItem;
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.model.TakeawayOrder;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Codec binário de pedidos (DineInOrder, TakeawayOrder e DeliveryOrder)
+ *
+ * Formato (versão 2):
+ * cabeçalho = [versão][id][tipo][status][horário][cliente][endereço e taxa, só delivery]
+ * pedido    = [cabeçalho][quantidade de itens][itens no formato do MenuItemCodec]
+ *
+ * A taxa gravada é a do endereço já resolvida pela tabela do pedido, então o
+ * pedido restaurado cobra a mesma taxa sem depender da tabela. Cabeçalhos da
+ * versão 1 (sem taxa) são lidos com a taxa fixa padrão.
+ *
+ * Tipos e status usam códigos fixos, independentes da ordem dos enums. O
+ * cabeçalho pode ser usado sozinho (ex.: evento de criação no journal).
+ *
+ * A codificação escreve direto no ByteBuffer recebido; se faltar espaço é
+ * lançada BufferOverflowException e cabe ao chamador usar um buffer maior.
+ */
+public final class OrderCodec {
+    public static final byte FORMAT_VERSION = 2;
+
+    private static final byte TYPE_DINE_IN = 1;
+    private static final byte TYPE_TAKEAWAY = 2;
+    private static final byte TYPE_DELIVERY = 3;
+
+    private OrderCodec() {
+    }
+
+    public static void encode(Order order, ByteBuffer buffer) {
+        // Status e itens lidos uma única vez para o registro ficar coerente
+        OrderStatus status = order.getStatus();
+        List<MenuItem> items = order.getItems();
+        encodeHeader(order, status, buffer);
+        VarInts.writeUnsignedInt(buffer, items.size());
+        for (MenuItem item : items) {
+            MenuItemCodec.encode(item, buffer);
+        }
+    }
+
+    public static Order decode(ByteBuffer buffer) {
+        return decode(buffer, null);
+    }
+
+    /**
+     * Decodifica usando as instâncias compartilhadas do catálogo para os itens cadastrados nele
+     */
+    public static Order decode(ByteBuffer buffer, MenuCatalog catalog) {
+        Order order = decodeHeader(buffer);
+        int itemCount = VarInts.readUnsignedInt(buffer);
+        for (int i = 0; i < itemCount; i++) {
+            order.addItem(catalog == null ? MenuItemCodec.decode(buffer) : MenuItemCodec.decode(buffer, catalog));
+        }
+        return order;
+    }
+
+    /**
+     * Codifica só os dados do pedido (sem itens), com o status informado
+     */
+    public static void encodeHeader(Order order, OrderStatus status, ByteBuffer buffer) {
+        buffer.put(FORMAT_VERSION);
+        VarInts.writeUnsignedInt(buffer, order.getOrderId());
+        buffer.put(typeCode(order));
+        buffer.put(statusCode(status));
+        LocalDateTime orderTime = order.getOrderTime();
+        buffer.putLong(orderTime.toEpochSecond(ZoneOffset.UTC));
+        VarInts.writeUnsignedInt(buffer, orderTime.getNano());
+        Utf8.write(buffer, order.getCustomerName());
+        if (order instanceof DeliveryOrder) {
+            DeliveryOrder delivery = (DeliveryOrder) order;
+            Utf8.write(buffer, delivery.getDeliveryAddress());
+            VarInts.writeUnsignedLong(buffer, delivery.getAddressFeeCents());
+        }
+    }
+
+    /**
+     * Recria o pedido (sem itens) com status e horário restaurados, sem notificar ninguém
+     */
+    public static Order decodeHeader(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Versão de codificação de pedido não suportada: " + version);
+        }
+        int orderId = VarInts.readUnsignedInt(buffer);
+        byte type = buffer.get();
+        OrderStatus status = statusOf(buffer.get());
+        LocalDateTime orderTime = LocalDateTime.ofEpochSecond(buffer.getLong(),
+            VarInts.readUnsignedInt(buffer), ZoneOffset.UTC);
+        String customerName = Utf8.read(buffer);
+        Order order;
+        switch (type) {
+            case TYPE_DINE_IN:
+                order = new DineInOrder(orderId, customerName);
+                break;
+            case TYPE_TAKEAWAY:
+                order = new TakeawayOrder(orderId, customerName);
+                break;
+            case TYPE_DELIVERY:
+                String address = Utf8.read(buffer);
+                DeliveryFeeSchedule feeSchedule = version == 1
+                    ? DeliveryFeeSchedule.FLAT : DeliveryFeeSchedule.fixed(VarInts.readUnsignedLong(buffer));
+                order = new DeliveryOrder(orderId, customerName, address, feeSchedule);
+                break;
+            default:
+                throw new IllegalArgumentException("Código de tipo de pedido desconhecido: " + type);
+        }
+        order.restore(status, orderTime);
+        return order;
+    }
+
+    public static byte statusCode(OrderStatus status) {
+        switch (status) {
+            case PENDING:
+                return 1;
+            case PREPARING:
+                return 2;
+            case READY:
+                return 3;
+            case DELIVERED:
+                return 4;
+            case CANCELLED:
+                return 5;
+            default:
+                throw new IllegalArgumentException("Status sem codificação: " + status);
+        }
+    }
+
+    public static OrderStatus statusOf(byte code) {
+        switch (code) {
+            case 1:
+                return OrderStatus.PENDING;
+            case 2:
+                return OrderStatus.PREPARING;
+            case 3:
+                return OrderStatus.READY;
+            case 4:
+                return OrderStatus.DELIVERED;
+            case 5:
+                return OrderStatus.CANCELLED;
+            default:
+                throw new IllegalArgumentException("Código de status desconhecido: " + code);
+        }
+    }
+
+    private static byte typeCode(Order order) {
+        switch (order.getOrderType()) {
+            case DINE_IN:
+                return TYPE_DINE_IN;
+            case TAKEAWAY:
+                return TYPE_TAKEAWAY;
+            case DELIVERY:
+                return TYPE_DELIVERY;
+            default:
+                throw new IllegalArgumentException("Tipo de pedido sem codificação: " + order.getOrderType());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.restaurant.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Strings em UTF-8 prefixadas pelo tamanho em bytes, codificadas direto no
+ * ByteBuffer (sem o byte[] intermediário de String.getBytes)
+ *
+ * Em buffers com array a escrita e a leitura acessam o array diretamente; nos
+ * buffers diretos passam por um byte[] reaproveitado por thread, para usar uma
+ * única cópia em bloco. Surrogates sem par são gravados como '?'.
+ */
+public final class Utf8 {
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private Utf8() {
+    }
+
+    /**
+     * Quantidade de bytes da string em UTF-8 (sem o prefixo de tamanho)
+     */
+    public static int encodedLength(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                // Par de surrogates: 2 chars viram 4 bytes
+                bytes += 2;
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    public static void write(ByteBuffer buffer, String value) {
+        int length = encodedLength(value);
+        VarInts.writeUnsignedInt(buffer, length);
+        if (buffer.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        if (buffer.hasArray()) {
+            encode(value, buffer.array(), buffer.arrayOffset() + buffer.position());
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = SCRATCH.get().bytes(length);
+            encode(value, bytes, 0);
+            buffer.put(bytes, 0, length);
+        }
+    }
+
+    public static String read(ByteBuffer buffer) {
+        int length = VarInts.readUnsignedInt(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("String UTF-8 maior que o buffer");
+        }
+        byte[] bytes;
+        int offset;
+        if (buffer.hasArray()) {
+            bytes = buffer.array();
+            offset = buffer.arrayOffset() + buffer.position();
+            buffer.position(buffer.position() + length);
+        } else {
+            bytes = SCRATCH.get().bytes(length);
+            offset = 0;
+            buffer.get(bytes, 0, length);
+        }
+        return decode(bytes, offset, length);
+    }
+
+    private static void encode(String value, byte[] out, int position) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out[position++] = (byte) c;
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | (c >> 6));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[position++] = (byte) (0xF0 | (codePoint >> 18));
+                out[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                out[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                out[position++] = (byte) '?';
+            } else {
+                out[position++] = (byte) (0xE0 | (c >> 12));
+                out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static String decode(byte[] bytes, int offset, int length) {
+        int end = offset + length;
+        int position = offset;
+        while (position < end && bytes[position] >= 0) {
+            position++;
+        }
+        if (position == end) {
+            // Só ASCII: a String é criada direto dos bytes
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        // Em UTF-16 a string nunca tem mais chars do que bytes em UTF-8
+        char[] chars = SCRATCH.get().chars(length);
+        int count = 0;
+        for (int i = offset; i < position; i++) {
+            chars[count++] = (char) bytes[i];
+        }
+        while (position < end) {
+            int b = bytes[position++] & 0xFF;
+            if (b < 0x80) {
+                chars[count++] = (char) b;
+            } else if ((b >> 5) == 0x6 && position < end) {
+                chars[count++] = (char) (((b & 0x1F) << 6) | continuation(bytes[position++]));
+            } else if ((b >> 4) == 0xE && position + 1 < end) {
+                chars[count++] = (char) (((b & 0x0F) << 12)
+                    | (continuation(bytes[position]) << 6)
+                    | continuation(bytes[position + 1]));
+                position += 2;
+            } else if ((b >> 3) == 0x1E && position + 2 < end) {
+                int codePoint = ((b & 0x07) << 18)
+                    | (continuation(bytes[position]) << 12)
+                    | (continuation(bytes[position + 1]) << 6)
+                    | continuation(bytes[position + 2]);
+                position += 3;
+                chars[count++] = Character.highSurrogate(codePoint);
+                chars[count++] = Character.lowSurrogate(codePoint);
+            } else {
+                throw new IllegalArgumentException("UTF-8 inválido");
+            }
+        }
+        return new String(chars, 0, count);
+    }
+
+    private static int continuation(byte b) {
+        if ((b & 0xC0) != 0x80) {
+            throw new IllegalArgumentException("UTF-8 inválido");
+        }
+        return b & 0x3F;
+    }
+
+    /**
+     * Arrays de trabalho reaproveitados por thread
+     */
+    private static final class Scratch {
+        private byte[] bytes = new byte[256];
+        private char[] chars = new char[256];
+
+        byte[] bytes(int length) {
+            if (bytes.length < length) {
+                bytes = new byte[Math.max(length, bytes.length * 2)];
+            }
+            return bytes;
+        }
+
+        char[] chars(int length) {
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            return chars;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.restaurant.codec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Inteiros de tamanho variável (7 bits por byte), usados pelos codecs para
+ * tamanhos, contagens e valores normalmente pequenos
+ */
+public final class VarInts {
+    private VarInts() {
+    }
+
+    public static void writeUnsignedInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int readUnsignedInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Inteiro de tamanho variável malformado");
+    }
+
+    public static void writeUnsignedLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static long readUnsignedLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Inteiro de tamanho variável malformado");
+    }
+}
@@ -0,0 +1,84 @@
+package com.restaurant.decorator;
+
+import com.restaurant.model.MenuItem;
+import java.util.Objects;
+
+/**
+ * Descreve um extra aplicado a um item (um Concrete Decorator e seus parâmetros),
+ * sem manter referência ao item decorado
+ */
+public final class AddOn {
+    public static final AddOn EXTRA_CHEESE = new AddOn(Kind.EXTRA_CHEESE, null);
+    public static final AddOn BACON = new AddOn(Kind.BACON, null);
+    public static final AddOn EXTRA_PORTION = new AddOn(Kind.EXTRA_PORTION, null);
+
+    public enum Kind {
+        EXTRA_CHEESE,
+        BACON,
+        SPECIAL_SAUCE,
+        EXTRA_PORTION
+    }
+
+    private final Kind kind;
+    private final String sauceName;
+
+    private AddOn(Kind kind, String sauceName) {
+        this.kind = kind;
+        this.sauceName = sauceName;
+    }
+
+    public static AddOn specialSauce(String sauceName) {
+        return new AddOn(Kind.SPECIAL_SAUCE, Objects.requireNonNull(sauceName));
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Nome do molho para SPECIAL_SAUCE, null para os demais extras
+     */
+    public String getSauceName() {
+        return sauceName;
+    }
+
+    /**
+     * Envolve o item com o decorator correspondente a este extra
+     */
+    public MenuItem applyTo(MenuItem item) {
+        switch (kind) {
+            case EXTRA_CHEESE:
+                return new ExtraCheeseDecorator(item);
+            case BACON:
+                return new BaconDecorator(item);
+            case SPECIAL_SAUCE:
+                return new SpecialSauceDecorator(item, sauceName);
+            case EXTRA_PORTION:
+                return new ExtraPortionDecorator(item);
+            default:
+                throw new IllegalStateException("Extra desconhecido: " + kind);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AddOn)) {
+            return false;
+        }
+        AddOn other = (AddOn) o;
+        return kind == other.kind && Objects.equals(sauceName, other.sauceName);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * kind.hashCode() + Objects.hashCode(sauceName);
+    }
+
+    @Override
+    public String toString() {
+        return sauceName == null ? kind.name() : kind.name() + "(" + sauceName + ")";
+    }
+}
@@ -8,7 +8,7 @@ import com.restaurant.model.MenuItem;
  * Adiciona bacon ao item do menu
  */
 public class BaconDecorator extends MenuItemDecorator {
-    private static final double BACON_PRICE = 5.00;
+    private static final long BACON_PRICE_CENTS = 500; // R$ 5.00
 
     public BaconDecorator(MenuItem item) {
         super(item);
@@ -19,13 +19,23 @@ public class BaconDecorator extends MenuItemDecorator {
         return wrappedItem.getName() + " + Bacon";
     }
 
+    @Override
+    public StringBuilder appendName(StringBuilder sb) {
+        return wrappedItem.appendName(sb).append(" + Bacon");
+    }
+
     @Override
     public String getDescription() {
         return wrappedItem.getDescription() + ", com bacon crocante";
     }
 
     @Override
-    public double getPrice() {
-        return wrappedItem.getPrice() + BACON_PRICE;
+    public long getPriceCents() {
+        return wrappedItem.getPriceCents() + BACON_PRICE_CENTS;
+    }
+
+    @Override
+    public AddOn getAddOn() {
+        return AddOn.BACON;
     }
 }
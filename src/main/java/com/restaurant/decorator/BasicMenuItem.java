@@ -1,21 +1,47 @@
 package com.restaurant.decorator;
 
 import com.restaurant.model.MenuItem;
+import com.restaurant.model.Money;
 
 /**
  * PADRÃO DECORATOR - Concrete Component
  * 
  * Representa um item básico do menu sem extras
+ * Imutável, para que a mesma instância possa ser compartilhada entre pedidos
  */
 public class BasicMenuItem implements MenuItem {
-    private String name;
-    private String description;
-    private double price;
+    private final String sku;
+    private final String name;
+    private final String description;
+    private final long priceCents;
 
     public BasicMenuItem(String name, String description, double price) {
+        this(name, name, description, price);
+    }
+
+    public BasicMenuItem(String sku, String name, String description, double price) {
+        this(Money.ofReais(price), sku, name, description);
+    }
+
+    private BasicMenuItem(long priceCents, String sku, String name, String description) {
+        this.sku = sku;
         this.name = name;
         this.description = description;
-        this.price = price;
+        this.priceCents = priceCents;
+    }
+
+    /**
+     * Cria o item com o preço já em centavos
+     */
+    public static BasicMenuItem ofCents(String sku, String name, String description, long priceCents) {
+        return new BasicMenuItem(priceCents, sku, name, description);
+    }
+
+    /**
+     * Código do item no cardápio (o próprio nome quando não informado)
+     */
+    public String getSku() {
+        return sku;
     }
 
     @Override
@@ -29,7 +55,7 @@ public class BasicMenuItem implements MenuItem {
     }
 
     @Override
-    public double getPrice() {
-        return price;
+    public long getPriceCents() {
+        return priceCents;
     }
 }
@@ -8,7 +8,7 @@ import com.restaurant.model.MenuItem;
  * Adiciona queijo extra ao item do menu
  */
 public class ExtraCheeseDecorator extends MenuItemDecorator {
-    private static final double EXTRA_CHEESE_PRICE = 3.50;
+    private static final long EXTRA_CHEESE_PRICE_CENTS = 350; // R$ 3.50
 
     public ExtraCheeseDecorator(MenuItem item) {
         super(item);
@@ -19,13 +19,23 @@ public class ExtraCheeseDecorator extends MenuItemDecorator {
         return wrappedItem.getName() + " + Queijo Extra";
     }
 
+    @Override
+    public StringBuilder appendName(StringBuilder sb) {
+        return wrappedItem.appendName(sb).append(" + Queijo Extra");
+    }
+
     @Override
     public String getDescription() {
         return wrappedItem.getDescription() + ", com queijo extra";
     }
 
     @Override
-    public double getPrice() {
-        return wrappedItem.getPrice() + EXTRA_CHEESE_PRICE;
+    public long getPriceCents() {
+        return wrappedItem.getPriceCents() + EXTRA_CHEESE_PRICE_CENTS;
+    }
+
+    @Override
+    public AddOn getAddOn() {
+        return AddOn.EXTRA_CHEESE;
     }
 }
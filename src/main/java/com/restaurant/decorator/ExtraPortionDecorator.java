@@ -1,6 +1,7 @@
 package com.restaurant.decorator;
 
 import com.restaurant.model.MenuItem;
+import com.restaurant.model.Money;
 
 /**
  * PADRÃO DECORATOR - Concrete Decorator
@@ -8,7 +9,9 @@ import com.restaurant.model.MenuItem;
  * Adiciona porção extra ao item do menu (dobra o tamanho)
  */
 public class ExtraPortionDecorator extends MenuItemDecorator {
-    private static final double PORTION_MULTIPLIER = 1.5; // 50% a mais no preço
+    // 50% a mais no preço (multiplicador 3/2)
+    private static final long PORTION_NUMERATOR = 3;
+    private static final long PORTION_DENOMINATOR = 2;
 
     public ExtraPortionDecorator(MenuItem item) {
         super(item);
@@ -19,13 +22,23 @@ public class ExtraPortionDecorator extends MenuItemDecorator {
         return wrappedItem.getName() + " (Porção Extra)";
     }
 
+    @Override
+    public StringBuilder appendName(StringBuilder sb) {
+        return wrappedItem.appendName(sb).append(" (Porção Extra)");
+    }
+
     @Override
     public String getDescription() {
         return wrappedItem.getDescription() + " - PORÇÃO DOBRADA";
     }
 
     @Override
-    public double getPrice() {
-        return wrappedItem.getPrice() * PORTION_MULTIPLIER;
+    public long getPriceCents() {
+        return Money.multiply(wrappedItem.getPriceCents(), PORTION_NUMERATOR, PORTION_DENOMINATOR);
+    }
+
+    @Override
+    public AddOn getAddOn() {
+        return AddOn.EXTRA_PORTION;
     }
 }
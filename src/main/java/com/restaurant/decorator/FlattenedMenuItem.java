@@ -0,0 +1,95 @@
+package com.restaurant.decorator;
+
+import com.restaurant.model.MenuItem;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Versão "compilada" de uma cadeia de decorators
+ *
+ * Nome, descrição e preço são calculados uma única vez, na criação, em vez de
+ * percorrer a cadeia e concatenar Strings a cada chamada. O item é imutável e
+ * mantém o item básico e a lista de extras aplicados, na ordem de aplicação.
+ */
+public final class FlattenedMenuItem implements MenuItem {
+    private final MenuItem baseItem;
+    private final List<AddOn> addOns;
+    private final String name;
+    private final String description;
+    private final long priceCents;
+
+    private FlattenedMenuItem(MenuItem baseItem, List<AddOn> addOns, MenuItem decorated) {
+        this.baseItem = baseItem;
+        this.addOns = addOns;
+        this.name = decorated.getName();
+        this.description = decorated.getDescription();
+        this.priceCents = decorated.getPriceCents();
+    }
+
+    /**
+     * Achata um item decorado (ou retorna o próprio item se já estiver achatado)
+     */
+    public static FlattenedMenuItem of(MenuItem item) {
+        if (item instanceof FlattenedMenuItem) {
+            return (FlattenedMenuItem) item;
+        }
+        List<AddOn> addOns = new ArrayList<>();
+        MenuItem current = item;
+        while (true) {
+            if (current instanceof MenuItemDecorator) {
+                MenuItemDecorator decorator = (MenuItemDecorator) current;
+                addOns.add(decorator.getAddOn());
+                current = decorator.getWrappedItem();
+            } else if (current instanceof FlattenedMenuItem) {
+                FlattenedMenuItem flattened = (FlattenedMenuItem) current;
+                for (int i = flattened.addOns.size() - 1; i >= 0; i--) {
+                    addOns.add(flattened.addOns.get(i));
+                }
+                current = flattened.baseItem;
+            } else {
+                break;
+            }
+        }
+        // A cadeia foi percorrida de fora para dentro; os extras ficam na ordem de aplicação
+        Collections.reverse(addOns);
+        return new FlattenedMenuItem(current, Collections.unmodifiableList(addOns), item);
+    }
+
+    /**
+     * Item básico (sem extras) na base da cadeia
+     */
+    public MenuItem getBaseItem() {
+        return baseItem;
+    }
+
+    public List<AddOn> getAddOns() {
+        return addOns;
+    }
+
+    /**
+     * Reconstrói a cadeia equivalente de decorators
+     */
+    public MenuItem toDecorated() {
+        MenuItem item = baseItem;
+        for (AddOn addOn : addOns) {
+            item = addOn.applyTo(item);
+        }
+        return item;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public long getPriceCents() {
+        return priceCents;
+    }
+}
@@ -0,0 +1,73 @@
+package com.restaurant.decorator;
+
+import com.restaurant.model.MenuItem;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Monta um item com extras sem precisar aninhar os decorators manualmente
+ *
+ * Exemplo:
+ * <pre>
+ * MenuItem burger = MenuItemBuilder.of(basicBurger)
+ *     .withExtraCheese()
+ *     .withBacon()
+ *     .build();
+ * </pre>
+ */
+public class MenuItemBuilder {
+    private final MenuItem baseItem;
+    private final List<AddOn> addOns = new ArrayList<>();
+
+    private MenuItemBuilder(MenuItem baseItem) {
+        this.baseItem = baseItem;
+    }
+
+    public static MenuItemBuilder of(MenuItem baseItem) {
+        return new MenuItemBuilder(baseItem);
+    }
+
+    public MenuItemBuilder withExtraCheese() {
+        return with(AddOn.EXTRA_CHEESE);
+    }
+
+    public MenuItemBuilder withBacon() {
+        return with(AddOn.BACON);
+    }
+
+    public MenuItemBuilder withSpecialSauce(String sauceName) {
+        return with(AddOn.specialSauce(sauceName));
+    }
+
+    public MenuItemBuilder withExtraPortion() {
+        return with(AddOn.EXTRA_PORTION);
+    }
+
+    public MenuItemBuilder with(AddOn addOn) {
+        addOns.add(addOn);
+        return this;
+    }
+
+    public List<AddOn> getAddOns() {
+        return Collections.unmodifiableList(addOns);
+    }
+
+    /**
+     * Cadeia tradicional de decorators
+     */
+    public MenuItem buildDecorated() {
+        MenuItem item = baseItem;
+        for (AddOn addOn : addOns) {
+            item = addOn.applyTo(item);
+        }
+        return item;
+    }
+
+    /**
+     * Item achatado, com nome, descrição e preço já calculados
+     */
+    public FlattenedMenuItem build() {
+        return FlattenedMenuItem.of(buildDecorated());
+    }
+}
@@ -20,13 +20,30 @@ public abstract class MenuItemDecorator implements MenuItem {
         return wrappedItem.getName();
     }
 
+    @Override
+    public StringBuilder appendName(StringBuilder sb) {
+        return wrappedItem.appendName(sb);
+    }
+
     @Override
     public String getDescription() {
         return wrappedItem.getDescription();
     }
 
     @Override
-    public double getPrice() {
-        return wrappedItem.getPrice();
+    public long getPriceCents() {
+        return wrappedItem.getPriceCents();
     }
+
+    /**
+     * Componente decorado (o próximo elo da cadeia)
+     */
+    public MenuItem getWrappedItem() {
+        return wrappedItem;
+    }
+
+    /**
+     * Extra que este decorator representa
+     */
+    public abstract AddOn getAddOn();
 }
@@ -8,7 +8,7 @@ import com.restaurant.model.MenuItem;
  * Adiciona molho especial ao item do menu
  */
 public class SpecialSauceDecorator extends MenuItemDecorator {
-    private static final double SAUCE_PRICE = 2.00;
+    private static final long SAUCE_PRICE_CENTS = 200; // R$ 2.00
     private String sauceName;
 
     public SpecialSauceDecorator(MenuItem item, String sauceName) {
@@ -21,13 +21,23 @@ public class SpecialSauceDecorator extends MenuItemDecorator {
         return wrappedItem.getName() + " + Molho " + sauceName;
     }
 
+    @Override
+    public StringBuilder appendName(StringBuilder sb) {
+        return wrappedItem.appendName(sb).append(" + Molho ").append(sauceName);
+    }
+
     @Override
     public String getDescription() {
         return wrappedItem.getDescription() + ", com molho " + sauceName;
     }
 
     @Override
-    public double getPrice() {
-        return wrappedItem.getPrice() + SAUCE_PRICE;
+    public long getPriceCents() {
+        return wrappedItem.getPriceCents() + SAUCE_PRICE_CENTS;
+    }
+
+    @Override
+    public AddOn getAddOn() {
+        return AddOn.specialSauce(sauceName);
     }
 }
@@ -0,0 +1,75 @@
+package com.restaurant.delivery;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Geocodificação de endereços a partir de uma tabela local
+ *
+ * Os endereços são comparados já normalizados (sem acentos, em minúsculas,
+ * sem pontuação e com espaços simples), então "Rua das Flores, 456" e
+ * "rua das flores 456" levam ao mesmo ponto. Sem chamadas externas: endereços
+ * fora da tabela não são geocodificados.
+ */
+public class AddressGeocoder {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+    // Letra base de U+00C0..U+00FF sem acento e em minúscula; espaço para os que não são letras com acento
+    private static final String LATIN1_BASE_LETTERS =
+        "aaaaaa ceeeeiiii nooooo  uuuuy  aaaaaa ceeeeiiii nooooo  uuuuy y";
+
+    private final ConcurrentHashMap<String, GeoPoint> points = new ConcurrentHashMap<>();
+
+    public void register(String address, GeoPoint point) {
+        points.put(normalize(address), point);
+    }
+
+    /**
+     * Ponto do endereço, ou null se ele não estiver na tabela
+     */
+    public GeoPoint geocode(String address) {
+        return address == null ? null : points.get(normalize(address));
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Endereços em Latin-1 (o caso comum) são normalizados em uma passada, sem
+     * regex; os demais passam pela decomposição Unicode completa, com o mesmo resultado
+     */
+    static String normalize(String address) {
+        int length = address.length();
+        char[] chars = new char[length];
+        int size = 0;
+        boolean separator = false;
+        for (int i = 0; i < length; i++) {
+            char c = address.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            } else if (c >= 0xC0 && c <= 0xFF) {
+                c = LATIN1_BASE_LETTERS.charAt(c - 0xC0);
+            } else if (c > 0xFF) {
+                return normalizeUnicode(address);
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (separator && size > 0) {
+                    chars[size++] = ' ';
+                }
+                separator = false;
+                chars[size++] = c;
+            } else {
+                separator = true;
+            }
+        }
+        return new String(chars, 0, size);
+    }
+
+    private static String normalizeUnicode(String address) {
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(address, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
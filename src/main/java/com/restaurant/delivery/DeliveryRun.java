@@ -0,0 +1,48 @@
+package com.restaurant.delivery;
+
+import com.restaurant.model.DeliveryOrder;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Saída de um entregador: pedidos na ordem de entrega, com a volta ao restaurante
+ */
+public final class DeliveryRun {
+    private final List<DeliveryOrder> stops;
+    private final double distanceKm;
+    private final Duration estimatedDuration;
+
+    DeliveryRun(List<DeliveryOrder> stops, double distanceKm, Duration estimatedDuration) {
+        this.stops = Collections.unmodifiableList(stops);
+        this.distanceKm = distanceKm;
+        this.estimatedDuration = estimatedDuration;
+    }
+
+    public List<DeliveryOrder> getStops() {
+        return stops;
+    }
+
+    /**
+     * Distância total, incluindo a volta ao restaurante
+     */
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    /**
+     * Tempo estimado da saída até a volta, incluindo o tempo em cada parada
+     */
+    public Duration getEstimatedDuration() {
+        return estimatedDuration;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Rota:");
+        for (DeliveryOrder order : stops) {
+            sb.append(" #").append(order.getOrderId());
+        }
+        return sb.append(String.format(" (%.1f km, %d min)", distanceKm, estimatedDuration.toMinutes())).toString();
+    }
+}
@@ -0,0 +1,97 @@
+package com.restaurant.delivery;
+
+/**
+ * Área de entrega (polígono) com a taxa cobrada dentro dela
+ */
+public final class DeliveryZone {
+    private final String name;
+    private final long feeCents;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double minLatitude;
+    private final double maxLatitude;
+    private final double minLongitude;
+    private final double maxLongitude;
+
+    /**
+     * @param vertices vértices do polígono, em ordem (o último se liga ao primeiro)
+     */
+    public DeliveryZone(String name, long feeCents, GeoPoint... vertices) {
+        if (vertices.length < 3) {
+            throw new IllegalArgumentException("Zona " + name + " precisa de pelo menos 3 vértices");
+        }
+        if (feeCents < 0) {
+            throw new IllegalArgumentException("Taxa da zona " + name + " não pode ser negativa");
+        }
+        this.name = name;
+        this.feeCents = feeCents;
+        this.latitudes = new double[vertices.length];
+        this.longitudes = new double[vertices.length];
+        double minLat = Double.MAX_VALUE;
+        double maxLat = -Double.MAX_VALUE;
+        double minLon = Double.MAX_VALUE;
+        double maxLon = -Double.MAX_VALUE;
+        for (int i = 0; i < vertices.length; i++) {
+            latitudes[i] = vertices[i].getLatitude();
+            longitudes[i] = vertices[i].getLongitude();
+            minLat = Math.min(minLat, latitudes[i]);
+            maxLat = Math.max(maxLat, latitudes[i]);
+            minLon = Math.min(minLon, longitudes[i]);
+            maxLon = Math.max(maxLon, longitudes[i]);
+        }
+        this.minLatitude = minLat;
+        this.maxLatitude = maxLat;
+        this.minLongitude = minLon;
+        this.maxLongitude = maxLon;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getFeeCents() {
+        return feeCents;
+    }
+
+    /**
+     * Teste de paridade (ray casting): o ponto está dentro se uma semirreta a
+     * partir dele cruza as arestas um número ímpar de vezes
+     */
+    public boolean contains(GeoPoint point) {
+        double lat = point.getLatitude();
+        double lon = point.getLongitude();
+        if (lat < minLatitude || lat > maxLatitude || lon < minLongitude || lon > maxLongitude) {
+            return false;
+        }
+        boolean inside = false;
+        for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+            if ((latitudes[i] > lat) != (latitudes[j] > lat)
+                    && lon < (longitudes[j] - longitudes[i]) * (lat - latitudes[i])
+                        / (latitudes[j] - latitudes[i]) + longitudes[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    double getMinLatitude() {
+        return minLatitude;
+    }
+
+    double getMaxLatitude() {
+        return maxLatitude;
+    }
+
+    double getMinLongitude() {
+        return minLongitude;
+    }
+
+    double getMaxLongitude() {
+        return maxLongitude;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,165 @@
+package com.restaurant.delivery;
+
+import com.restaurant.model.Money;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Índice espacial das zonas de entrega em uma grade regular
+ *
+ * A área coberta pelas zonas é dividida em células de cellDegrees graus e
+ * cada célula guarda só as zonas cujo retângulo envolvente a toca. Uma busca
+ * calcula a célula do ponto em O(1) e testa apenas essas poucas zonas. Zonas
+ * sobrepostas são resolvidas pela ordem de cadastro: vale a primeira que
+ * contém o ponto (ex.: um bairro com taxa própria antes da região em volta).
+ *
+ * Formato do arquivo carregado por load(), uma zona por linha:
+ * <pre>
+ * # nome;taxa em reais;lat,lon lat,lon lat,lon ...
+ * Centro;4.00;-23.54,-46.64 -23.54,-46.62 -23.56,-46.62 -23.56,-46.64
+ * </pre>
+ */
+public final class DeliveryZoneIndex {
+    public static final double DEFAULT_CELL_DEGREES = 0.01; // ~1,1 km
+    private static final int MAX_CELLS = 1 << 20;
+    private static final DeliveryZone[] NO_ZONES = new DeliveryZone[0];
+
+    private final List<DeliveryZone> zones;
+    private final double cellDegrees;
+    private final double minLatitude;
+    private final double minLongitude;
+    private final int rows;
+    private final int columns;
+    private final DeliveryZone[][] cells;
+
+    public DeliveryZoneIndex(List<DeliveryZone> zones) {
+        this(zones, DEFAULT_CELL_DEGREES);
+    }
+
+    public DeliveryZoneIndex(List<DeliveryZone> zones, double cellDegrees) {
+        if (cellDegrees <= 0) {
+            throw new IllegalArgumentException("Tamanho da célula deve ser positivo");
+        }
+        this.zones = Collections.unmodifiableList(new ArrayList<>(zones));
+        this.cellDegrees = cellDegrees;
+        double minLat = Double.MAX_VALUE;
+        double maxLat = -Double.MAX_VALUE;
+        double minLon = Double.MAX_VALUE;
+        double maxLon = -Double.MAX_VALUE;
+        for (DeliveryZone zone : zones) {
+            minLat = Math.min(minLat, zone.getMinLatitude());
+            maxLat = Math.max(maxLat, zone.getMaxLatitude());
+            minLon = Math.min(minLon, zone.getMinLongitude());
+            maxLon = Math.max(maxLon, zone.getMaxLongitude());
+        }
+        this.minLatitude = minLat;
+        this.minLongitude = minLon;
+        this.rows = zones.isEmpty() ? 0 : (int) Math.floor((maxLat - minLat) / cellDegrees) + 1;
+        this.columns = zones.isEmpty() ? 0 : (int) Math.floor((maxLon - minLon) / cellDegrees) + 1;
+        if ((long) rows * columns > MAX_CELLS) {
+            throw new IllegalArgumentException("Grade com células demais (" + rows + "x" + columns
+                + "); use células maiores");
+        }
+        this.cells = new DeliveryZone[rows * columns][];
+        List<List<DeliveryZone>> byCell = new ArrayList<>(cells.length);
+        for (int i = 0; i < cells.length; i++) {
+            byCell.add(null);
+        }
+        for (DeliveryZone zone : zones) {
+            int firstRow = row(zone.getMinLatitude());
+            int lastRow = row(zone.getMaxLatitude());
+            int firstColumn = column(zone.getMinLongitude());
+            int lastColumn = column(zone.getMaxLongitude());
+            for (int r = firstRow; r <= lastRow; r++) {
+                for (int c = firstColumn; c <= lastColumn; c++) {
+                    int cell = r * columns + c;
+                    if (byCell.get(cell) == null) {
+                        byCell.set(cell, new ArrayList<>(2));
+                    }
+                    byCell.get(cell).add(zone);
+                }
+            }
+        }
+        for (int i = 0; i < cells.length; i++) {
+            List<DeliveryZone> candidates = byCell.get(i);
+            cells[i] = candidates == null ? NO_ZONES : candidates.toArray(NO_ZONES);
+        }
+    }
+
+    /**
+     * Lê as zonas do arquivo (UTF-8); linhas vazias e iniciadas por # são ignoradas
+     */
+    public static DeliveryZoneIndex load(Path path) throws IOException {
+        List<DeliveryZone> zones = new ArrayList<>();
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                zones.add(parseZone(line));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Linha " + (i + 1) + " inválida em " + path + ": " + line, e);
+            }
+        }
+        return new DeliveryZoneIndex(zones);
+    }
+
+    private static DeliveryZone parseZone(String line) {
+        String[] fields = line.split(";");
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("Esperado nome;taxa;vértices");
+        }
+        String[] pairs = fields[2].trim().split("\\s+");
+        GeoPoint[] vertices = new GeoPoint[pairs.length];
+        for (int i = 0; i < pairs.length; i++) {
+            String[] coordinates = pairs[i].split(",");
+            if (coordinates.length != 2) {
+                throw new IllegalArgumentException("Vértice inválido: " + pairs[i]);
+            }
+            vertices[i] = new GeoPoint(Double.parseDouble(coordinates[0]), Double.parseDouble(coordinates[1]));
+        }
+        return new DeliveryZone(fields[0].trim(), Money.ofReais(Double.parseDouble(fields[1].trim())), vertices);
+    }
+
+    /**
+     * Primeira zona (na ordem de cadastro) que contém o ponto, ou null se ele
+     * estiver fora da área de entrega
+     */
+    public DeliveryZone find(GeoPoint point) {
+        double lat = point.getLatitude();
+        double lon = point.getLongitude();
+        if (rows == 0 || lat < minLatitude || lon < minLongitude) {
+            return null;
+        }
+        int r = row(lat);
+        int c = column(lon);
+        if (r >= rows || c >= columns) {
+            return null;
+        }
+        for (DeliveryZone zone : cells[r * columns + c]) {
+            if (zone.contains(point)) {
+                return zone;
+            }
+        }
+        return null;
+    }
+
+    public List<DeliveryZone> getZones() {
+        return zones;
+    }
+
+    private int row(double latitude) {
+        return (int) ((latitude - minLatitude) / cellDegrees);
+    }
+
+    private int column(double longitude) {
+        return (int) ((longitude - minLongitude) / cellDegrees);
+    }
+}
@@ -0,0 +1,322 @@
+package com.restaurant.delivery;
+
+import com.restaurant.model.DeliveryOrder;
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.model.OrderType;
+import com.restaurant.observer.Observer;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Despacho de entregas: agrupa os pedidos de delivery prontos em saídas de
+ * entregadores e define a ordem de entrega de cada saída
+ *
+ * Como Observer, recebe os pedidos de delivery em READY e os geocodifica pela
+ * tabela local (pedidos com endereço desconhecido ficam para despacho
+ * manual). Cada dispatch() monta as saídas com os pedidos pendentes:
+ * - o pedido mais urgente (menor prazo prometido) abre uma saída;
+ * - os pedidos próximos a ele, do mais perto para o mais longe, entram na
+ *   saída na posição que menos aumenta o trajeto, desde que nenhum pedido da
+ *   saída passe do prazo por causa disso e o limite de paradas seja respeitado;
+ * - a ordem final é a de vizinho mais próximo + 2-opt, quando ela não atrasa
+ *   nenhum pedido e é mais curta que a obtida nas inserções.
+ *
+ * O prazo de um pedido é o horário do pedido mais o tempo de entrega
+ * prometido. Um pedido que já não chegaria no prazo nem indo sozinho pode ser
+ * agrupado, desde que a saída não o atrase mais do que a entrega direta.
+ */
+public class DispatchEngine implements Observer {
+    public static final int DEFAULT_MAX_STOPS_PER_RUN = 4;
+    public static final double DEFAULT_CLUSTER_RADIUS_KM = 2.0;
+    public static final Duration DEFAULT_PROMISE_TIME = Duration.ofMinutes(45);
+    public static final double DEFAULT_AVERAGE_SPEED_KMH = 25.0;
+    public static final Duration DEFAULT_STOP_TIME = Duration.ofMinutes(3);
+
+    private static final Set<OrderStatus> INTERESTED = Collections.unmodifiableSet(
+        EnumSet.of(OrderStatus.READY, OrderStatus.DELIVERED, OrderStatus.CANCELLED));
+    private static final Set<OrderType> INTERESTED_TYPES = Collections.unmodifiableSet(EnumSet.of(OrderType.DELIVERY));
+    private static final Comparator<PendingDelivery> BY_DUE = (a, b) -> {
+        int byDue = Long.compare(a.dueMillis, b.dueMillis);
+        return byDue != 0 ? byDue : Integer.compare(a.order.getOrderId(), b.order.getOrderId());
+    };
+
+    private final AddressGeocoder geocoder;
+    private final GeoPoint restaurant;
+    private final Clock clock;
+    private final ConcurrentHashMap<Integer, PendingDelivery> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, DeliveryOrder> unroutable = new ConcurrentHashMap<>();
+    private volatile int maxStopsPerRun = DEFAULT_MAX_STOPS_PER_RUN;
+    private volatile double clusterRadiusKm = DEFAULT_CLUSTER_RADIUS_KM;
+    private volatile long promiseMillis = DEFAULT_PROMISE_TIME.toMillis();
+    private volatile double millisPerKm = 3_600_000 / DEFAULT_AVERAGE_SPEED_KMH;
+    private volatile long stopMillis = DEFAULT_STOP_TIME.toMillis();
+
+    public DispatchEngine(AddressGeocoder geocoder, GeoPoint restaurant) {
+        this(geocoder, restaurant, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param clock relógio usado para os prazos e as estimativas de chegada
+     */
+    public DispatchEngine(AddressGeocoder geocoder, GeoPoint restaurant, Clock clock) {
+        this.geocoder = geocoder;
+        this.restaurant = restaurant;
+        this.clock = clock;
+    }
+
+    public void setMaxStopsPerRun(int maxStopsPerRun) {
+        if (maxStopsPerRun <= 0) {
+            throw new IllegalArgumentException("Número de paradas por saída deve ser positivo");
+        }
+        this.maxStopsPerRun = maxStopsPerRun;
+    }
+
+    /**
+     * Distância máxima entre o pedido que abre a saída e os demais pedidos dela
+     */
+    public void setClusterRadiusKm(double clusterRadiusKm) {
+        if (clusterRadiusKm < 0) {
+            throw new IllegalArgumentException("Raio de agrupamento não pode ser negativo");
+        }
+        this.clusterRadiusKm = clusterRadiusKm;
+    }
+
+    /**
+     * Tempo de entrega prometido ao cliente, contado a partir do horário do pedido
+     */
+    public void setPromiseTime(Duration promiseTime) {
+        this.promiseMillis = promiseTime.toMillis();
+    }
+
+    public void setAverageSpeedKmh(double averageSpeedKmh) {
+        if (averageSpeedKmh <= 0) {
+            throw new IllegalArgumentException("Velocidade média deve ser positiva");
+        }
+        this.millisPerKm = 3_600_000 / averageSpeedKmh;
+    }
+
+    /**
+     * Tempo gasto em cada parada para entregar o pedido
+     */
+    public void setStopTime(Duration stopTime) {
+        this.stopMillis = stopTime.toMillis();
+    }
+
+    @Override
+    public Set<OrderStatus> interestedStatuses() {
+        return INTERESTED;
+    }
+
+    @Override
+    public Set<OrderType> interestedTypes() {
+        return INTERESTED_TYPES;
+    }
+
+    @Override
+    public void update(Order order) {
+        update(order, order.getStatus());
+    }
+
+    @Override
+    public void update(Order order, OrderStatus status) {
+        if (!(order instanceof DeliveryOrder)) {
+            return;
+        }
+        if (status == OrderStatus.READY) {
+            submit((DeliveryOrder) order);
+        } else if (status == OrderStatus.DELIVERED || status == OrderStatus.CANCELLED) {
+            cancel(order.getOrderId());
+        }
+    }
+
+    /**
+     * Coloca o pedido na fila de despacho; retorna false se ele já estiver na
+     * fila ou se o endereço não for encontrado (ele fica em getUnroutableOrders())
+     */
+    public boolean submit(DeliveryOrder order) {
+        GeoPoint point = geocoder.geocode(order.getDeliveryAddress());
+        if (point == null) {
+            unroutable.put(order.getOrderId(), order);
+            return false;
+        }
+        long orderMillis = order.getOrderTime().atZone(clock.getZone()).toInstant().toEpochMilli();
+        return pending.putIfAbsent(order.getOrderId(),
+            new PendingDelivery(order, point, orderMillis + promiseMillis)) == null;
+    }
+
+    /**
+     * Retira o pedido da fila de despacho (ou da lista de despacho manual)
+     */
+    public boolean cancel(int orderId) {
+        boolean removed = pending.remove(orderId) != null;
+        return unroutable.remove(orderId) != null || removed;
+    }
+
+    public int getPendingDeliveries() {
+        return pending.size();
+    }
+
+    /**
+     * Pedidos cujo endereço não está na tabela de geocodificação
+     */
+    public List<DeliveryOrder> getUnroutableOrders() {
+        return new ArrayList<>(unroutable.values());
+    }
+
+    /**
+     * Agrupa todos os pedidos pendentes em saídas, mais urgentes primeiro, e
+     * os retira da fila
+     */
+    public synchronized List<DeliveryRun> dispatch() {
+        PendingDelivery[] deliveries = pending.values().toArray(new PendingDelivery[0]);
+        Arrays.sort(deliveries, BY_DUE);
+        long now = clock.millis();
+        int maxStops = maxStopsPerRun;
+        double radius = clusterRadiusKm;
+        for (PendingDelivery delivery : deliveries) {
+            delivery.assigned = false;
+            delivery.soloArrival = now + Math.round(restaurant.distanceKm(delivery.point) * millisPerKm);
+        }
+
+        List<DeliveryRun> runs = new ArrayList<>();
+        List<PendingDelivery> route = new ArrayList<>(maxStops);
+        List<PendingDelivery> candidates = new ArrayList<>();
+        for (int i = 0; i < deliveries.length; i++) {
+            PendingDelivery seed = deliveries[i];
+            if (seed.assigned) {
+                continue;
+            }
+            seed.assigned = true;
+            route.clear();
+            route.add(seed);
+            candidates.clear();
+            for (int j = i + 1; j < deliveries.length && maxStops > 1; j++) {
+                PendingDelivery candidate = deliveries[j];
+                if (!candidate.assigned) {
+                    candidate.seedDistance = seed.point.distanceKm(candidate.point);
+                    if (candidate.seedDistance <= radius) {
+                        candidates.add(candidate);
+                    }
+                }
+            }
+            candidates.sort(Comparator.comparingDouble(c -> c.seedDistance));
+            for (PendingDelivery candidate : candidates) {
+                if (route.size() >= maxStops) {
+                    break;
+                }
+                if (insert(route, candidate, now)) {
+                    candidate.assigned = true;
+                }
+            }
+            runs.add(finish(route, now));
+        }
+        for (PendingDelivery delivery : deliveries) {
+            pending.remove(delivery.order.getOrderId(), delivery);
+        }
+        return runs;
+    }
+
+    /**
+     * Insere o pedido na posição viável que menos aumenta o trajeto
+     */
+    private boolean insert(List<PendingDelivery> route, PendingDelivery candidate, long now) {
+        int bestPosition = -1;
+        double bestIncrease = Double.MAX_VALUE;
+        for (int position = 0; position <= route.size(); position++) {
+            GeoPoint before = position == 0 ? restaurant : route.get(position - 1).point;
+            GeoPoint after = position == route.size() ? restaurant : route.get(position).point;
+            double increase = before.distanceKm(candidate.point) + candidate.point.distanceKm(after)
+                - before.distanceKm(after);
+            if (increase < bestIncrease) {
+                route.add(position, candidate);
+                if (isOnTime(route, now)) {
+                    bestPosition = position;
+                    bestIncrease = increase;
+                }
+                route.remove(position);
+            }
+        }
+        if (bestPosition < 0) {
+            return false;
+        }
+        route.add(bestPosition, candidate);
+        return true;
+    }
+
+    private boolean isOnTime(List<PendingDelivery> route, long now) {
+        double time = now;
+        GeoPoint previous = restaurant;
+        for (int i = 0; i < route.size(); i++) {
+            PendingDelivery stop = route.get(i);
+            time += previous.distanceKm(stop.point) * millisPerKm;
+            if (time > Math.max(stop.dueMillis, stop.soloArrival)) {
+                return false;
+            }
+            time += stopMillis;
+            previous = stop.point;
+        }
+        return true;
+    }
+
+    private DeliveryRun finish(List<PendingDelivery> route, long now) {
+        List<PendingDelivery> stops = route;
+        if (route.size() > 2) {
+            GeoPoint[] points = new GeoPoint[route.size()];
+            for (int i = 0; i < points.length; i++) {
+                points[i] = route.get(i).point;
+            }
+            int[] order = RoutePlanner.plan(restaurant, points);
+            List<PendingDelivery> planned = new ArrayList<>(order.length);
+            for (int index : order) {
+                planned.add(route.get(index));
+            }
+            if (lengthKm(planned) < lengthKm(route) && isOnTime(planned, now)) {
+                stops = planned;
+            }
+        }
+        List<DeliveryOrder> orders = new ArrayList<>(stops.size());
+        for (PendingDelivery stop : stops) {
+            orders.add(stop.order);
+        }
+        double distance = lengthKm(stops);
+        long millis = Math.round(distance * millisPerKm) + stopMillis * stops.size();
+        return new DeliveryRun(orders, distance, Duration.ofMillis(millis));
+    }
+
+    private double lengthKm(List<PendingDelivery> route) {
+        double total = 0;
+        GeoPoint previous = restaurant;
+        for (PendingDelivery stop : route) {
+            total += previous.distanceKm(stop.point);
+            previous = stop.point;
+        }
+        return total + previous.distanceKm(restaurant);
+    }
+
+    /**
+     * Pedido na fila de despacho; os campos mutáveis são de uso exclusivo do dispatch()
+     */
+    private static final class PendingDelivery {
+        private final DeliveryOrder order;
+        private final GeoPoint point;
+        private final long dueMillis;
+        private boolean assigned;
+        private long soloArrival;
+        private double seedDistance;
+
+        PendingDelivery(DeliveryOrder order, GeoPoint point, long dueMillis) {
+            this.order = order;
+            this.point = point;
+            this.dueMillis = dueMillis;
+        }
+    }
+}
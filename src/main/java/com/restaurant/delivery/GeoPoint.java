@@ -0,0 +1,60 @@
+package com.restaurant.delivery;
+
+/**
+ * Coordenada geográfica (graus decimais)
+ */
+public final class GeoPoint {
+    private static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final double latitude;
+    private final double longitude;
+
+    public GeoPoint(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordenada inválida: " + latitude + ", " + longitude);
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Distância em km pela aproximação equirretangular: precisa o bastante na
+     * escala de uma cidade e bem mais barata que a fórmula de haversine
+     */
+    public double distanceKm(GeoPoint other) {
+        double meanLatitude = Math.toRadians((latitude + other.latitude) / 2);
+        double x = Math.toRadians(other.longitude - longitude) * Math.cos(meanLatitude);
+        double y = Math.toRadians(other.latitude - latitude);
+        return Math.sqrt(x * x + y * y) * EARTH_RADIUS_KM;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GeoPoint)) {
+            return false;
+        }
+        GeoPoint other = (GeoPoint) o;
+        return Double.compare(latitude, other.latitude) == 0 && Double.compare(longitude, other.longitude) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(latitude) + Double.hashCode(longitude);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + latitude + ", " + longitude + ")";
+    }
+}
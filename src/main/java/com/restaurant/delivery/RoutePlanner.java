@@ -0,0 +1,87 @@
+package com.restaurant.delivery;
+
+/**
+ * Roteiro de entrega saindo do restaurante e voltando a ele
+ *
+ * Heurística rápida em vez de solução exata: o roteiro inicial é o do vizinho
+ * mais próximo e depois é melhorado com 2-opt (inverte trechos enquanto isso
+ * encurtar a volta), sobre uma matriz de distâncias calculada uma vez.
+ */
+final class RoutePlanner {
+
+    private RoutePlanner() {
+    }
+
+    /**
+     * Ordem de visita das paradas (índices em stops)
+     */
+    static int[] plan(GeoPoint depot, GeoPoint[] stops) {
+        int n = stops.length + 1;
+        double[] distances = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            GeoPoint from = i == 0 ? depot : stops[i - 1];
+            for (int j = i + 1; j < n; j++) {
+                double distance = from.distanceKm(stops[j - 1]);
+                distances[i * n + j] = distance;
+                distances[j * n + i] = distance;
+            }
+        }
+        // Posição 0 é sempre o restaurante
+        int[] tour = nearestNeighbour(distances, n);
+        improve(tour, distances, n);
+        int[] order = new int[stops.length];
+        for (int i = 1; i < n; i++) {
+            order[i - 1] = tour[i] - 1;
+        }
+        return order;
+    }
+
+    private static int[] nearestNeighbour(double[] distances, int n) {
+        int[] tour = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+        for (int position = 1; position < n; position++) {
+            int current = tour[position - 1];
+            int best = -1;
+            for (int candidate = 1; candidate < n; candidate++) {
+                if (!visited[candidate]
+                        && (best < 0 || distances[current * n + candidate] < distances[current * n + best])) {
+                    best = candidate;
+                }
+            }
+            tour[position] = best;
+            visited[best] = true;
+        }
+        return tour;
+    }
+
+    private static void improve(int[] tour, double[] distances, int n) {
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 1; i < n - 1; i++) {
+                int a = tour[i - 1];
+                int b = tour[i];
+                for (int j = i + 1; j < n; j++) {
+                    int c = tour[j];
+                    int d = tour[(j + 1) % n];
+                    double delta = distances[a * n + c] + distances[b * n + d]
+                        - distances[a * n + b] - distances[c * n + d];
+                    if (delta < -1e-9) {
+                        reverse(tour, i, j);
+                        b = tour[i];
+                        improved = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int swap = tour[from];
+            tour[from++] = tour[to];
+            tour[to--] = swap;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.restaurant.delivery;
+
+import com.restaurant.model.DeliveryFeeSchedule;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Taxa de entrega pela zona do endereço e, opcionalmente, pela distância
+ *
+ * A taxa é a da zona (ou a padrão, fora de todas as zonas) mais um valor por
+ * km em linha reta do restaurante até o endereço, quando configurado.
+ *
+ * O endereço é geocodificado e localizado no índice de zonas uma única vez;
+ * o resultado fica em cache pelo endereço normalizado como na tabela de
+ * geocodificação (sem acentos, caixa e separadores), então clientes que
+ * voltam custam uma consulta em hash mesmo escrevendo o endereço de outro
+ * jeito. Endereços que a tabela de geocodificação não conhece pagam a taxa
+ * padrão, sem a parte por distância, e não entram no cache (podem ser
+ * cadastrados depois).
+ */
+public class ZoneFeeSchedule implements DeliveryFeeSchedule {
+    public static final long DEFAULT_FEE_CENTS = 500; // R$ 5,00
+
+    private final AddressGeocoder geocoder;
+    private final DeliveryZoneIndex zones;
+    private final long defaultFeeCents;
+    private final GeoPoint restaurant;
+    private final long feePerKmCents;
+    private final ConcurrentHashMap<String, Long> feesByAddress = new ConcurrentHashMap<>();
+
+    public ZoneFeeSchedule(AddressGeocoder geocoder, DeliveryZoneIndex zones) {
+        this(geocoder, zones, DEFAULT_FEE_CENTS);
+    }
+
+    /**
+     * @param defaultFeeCents taxa para endereços desconhecidos ou fora das zonas
+     */
+    public ZoneFeeSchedule(AddressGeocoder geocoder, DeliveryZoneIndex zones, long defaultFeeCents) {
+        this(geocoder, zones, defaultFeeCents, null, 0);
+    }
+
+    /**
+     * @param restaurant ponto de onde a distância é medida
+     * @param feePerKmCents valor somado à taxa da zona por km até o endereço
+     */
+    public ZoneFeeSchedule(AddressGeocoder geocoder, DeliveryZoneIndex zones, long defaultFeeCents,
+                           GeoPoint restaurant, long feePerKmCents) {
+        if (feePerKmCents < 0) {
+            throw new IllegalArgumentException("Taxa por km não pode ser negativa");
+        }
+        if (feePerKmCents > 0 && restaurant == null) {
+            throw new IllegalArgumentException("Taxa por km exige a localização do restaurante");
+        }
+        this.geocoder = geocoder;
+        this.zones = zones;
+        this.defaultFeeCents = defaultFeeCents;
+        this.restaurant = restaurant;
+        this.feePerKmCents = feePerKmCents;
+    }
+
+    @Override
+    public long feeCents(String deliveryAddress) {
+        if (deliveryAddress == null) {
+            return defaultFeeCents;
+        }
+        String key = AddressGeocoder.normalize(deliveryAddress);
+        Long cached = feesByAddress.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        GeoPoint point = geocoder.geocode(deliveryAddress);
+        if (point == null) {
+            return defaultFeeCents;
+        }
+        DeliveryZone zone = zones.find(point);
+        long fee = zone != null ? zone.getFeeCents() : defaultFeeCents;
+        if (feePerKmCents > 0) {
+            fee += Math.round(restaurant.distanceKm(point) * feePerKmCents);
+        }
+        feesByAddress.putIfAbsent(key, fee);
+        return fee;
+    }
+
+    /**
+     * Zona do endereço, ou null se ele for desconhecido ou estiver fora da área de entrega
+     */
+    public DeliveryZone findZone(String deliveryAddress) {
+        GeoPoint point = geocoder.geocode(deliveryAddress);
+        return point == null ? null : zones.find(point);
+    }
+
+    public int getCachedAddresses() {
+        return feesByAddress.size();
+    }
+
+    /**
+     * Descarta as taxas em cache (ex.: depois de corrigir coordenadas na tabela de geocodificação)
+     */
+    public void clearCache() {
+        feesByAddress.clear();
+    }
+}
@@ -1,6 +1,7 @@
 package com.restaurant.factory;
 
 import com.restaurant.model.Order;
+import com.restaurant.model.DeliveryFeeSchedule;
 import com.restaurant.model.DeliveryOrder;
 
 /**
@@ -10,6 +11,7 @@ import com.restaurant.model.DeliveryOrder;
  */
 public class DeliveryOrderFactory extends OrderFactory {
     private String deliveryAddress;
+    private DeliveryFeeSchedule feeSchedule = DeliveryFeeSchedule.FLAT;
     
     public DeliveryOrderFactory(String deliveryAddress) {
         this.deliveryAddress = deliveryAddress;
@@ -17,6 +19,13 @@ public class DeliveryOrderFactory extends OrderFactory {
     
     @Override
     public Order createOrder(int orderId, String customerName) {
-        return new DeliveryOrder(orderId, customerName, deliveryAddress);
+        return new DeliveryOrder(orderId, customerName, deliveryAddress, feeSchedule);
+    }
+
+    /**
+     * Tabela de taxas de entrega dos pedidos criados (por padrão, taxa fixa)
+     */
+    public void setFeeSchedule(DeliveryFeeSchedule feeSchedule) {
+        this.feeSchedule = feeSchedule;
     }
 }
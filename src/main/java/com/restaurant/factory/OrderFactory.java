@@ -1,7 +1,12 @@
 package com.restaurant.factory;
 
 import com.restaurant.model.Order;
+import com.restaurant.model.OrderLifecycleListener;
 import com.restaurant.model.OrderType;
+import com.restaurant.observer.OrderEventBus;
+import com.restaurant.output.ConsoleOutputSink;
+import com.restaurant.output.OutputSink;
+import com.restaurant.repository.OrderRepository;
 
 /**
  * PADRÃO FACTORY METHOD - Creator abstrato
@@ -10,6 +15,10 @@ import com.restaurant.model.OrderType;
  * Permite que subclasses decidam qual classe instanciar
  */
 public abstract class OrderFactory {
+    private OrderRepository orderRepository;
+    private OrderLifecycleListener lifecycleListener;
+    private OrderEventBus eventBus;
+    private OutputSink output = ConsoleOutputSink.INSTANCE;
     
     /**
      * Factory Method - método abstrato que será implementado pelas subclasses
@@ -22,7 +31,46 @@ public abstract class OrderFactory {
      */
     public Order processNewOrder(int orderId, String customerName) {
         Order order = createOrder(orderId, customerName);
-        System.out.println("✅ Novo pedido criado: " + order.getOrderType().getDescription());
+        if (eventBus != null) {
+            order.setEventBus(eventBus);
+        }
+        if (lifecycleListener != null) {
+            order.setLifecycleListener(lifecycleListener);
+            lifecycleListener.onCreated(order);
+        }
+        if (orderRepository != null) {
+            orderRepository.save(order);
+        }
+        output.write(new StringBuilder(48).append("✅ Novo pedido criado: ")
+            .append(order.getOrderType().getDescription()).append('\n'));
         return order;
     }
+    
+    /**
+     * Registra os pedidos criados por processNewOrder no repositório de pedidos ativos
+     */
+    public void setOrderRepository(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+    }
+
+    /**
+     * Registra os eventos dos pedidos criados por processNewOrder (ex.: no journal)
+     */
+    public void setLifecycleListener(OrderLifecycleListener lifecycleListener) {
+        this.lifecycleListener = lifecycleListener;
+    }
+
+    /**
+     * Liga os pedidos criados por processNewOrder ao barramento de eventos do restaurante
+     */
+    public void setEventBus(OrderEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Destino da mensagem de pedido criado (por padrão, o console)
+     */
+    public void setOutputSink(OutputSink output) {
+        this.output = output;
+    }
 }
@@ -0,0 +1,55 @@
+package com.restaurant.kitchen;
+
+import com.restaurant.decorator.AddOn;
+import com.restaurant.decorator.BasicMenuItem;
+import com.restaurant.decorator.FlattenedMenuItem;
+import com.restaurant.model.MenuItem;
+import java.util.List;
+
+/**
+ * Identidade de preparo de um item: item básico (pelo SKU) + extras na ordem
+ * de aplicação. Itens com a mesma chave podem ser preparados no mesmo lote.
+ */
+final class ItemKey {
+    private final String sku;
+    private final List<AddOn> addOns;
+    private final int hash;
+
+    private ItemKey(String sku, List<AddOn> addOns) {
+        this.sku = sku;
+        this.addOns = addOns;
+        this.hash = 31 * sku.hashCode() + addOns.hashCode();
+    }
+
+    static ItemKey of(MenuItem item) {
+        FlattenedMenuItem flattened = FlattenedMenuItem.of(item);
+        MenuItem base = flattened.getBaseItem();
+        String sku = base instanceof BasicMenuItem ? ((BasicMenuItem) base).getSku() : base.getName();
+        return new ItemKey(sku, flattened.getAddOns());
+    }
+
+    String getSku() {
+        return sku;
+    }
+
+    List<AddOn> getAddOns() {
+        return addOns;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ItemKey)) {
+            return false;
+        }
+        ItemKey other = (ItemKey) o;
+        return hash == other.hash && sku.equals(other.sku) && addOns.equals(other.addOns);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
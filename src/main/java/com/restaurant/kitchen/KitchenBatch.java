@@ -0,0 +1,51 @@
+package com.restaurant.kitchen;
+
+import com.restaurant.model.MenuItem;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lote de itens idênticos, de um ou mais pedidos, preparados de uma só vez
+ * (ex.: dez pizzas margherita de pedidos diferentes)
+ */
+public final class KitchenBatch {
+    private final MenuItem item;
+    private final List<KitchenScheduler.WorkUnit> units;
+
+    KitchenBatch(MenuItem item, List<KitchenScheduler.WorkUnit> units) {
+        this.item = item;
+        this.units = units;
+    }
+
+    /**
+     * Item a preparar (todos os itens do lote são equivalentes a ele)
+     */
+    public MenuItem getItem() {
+        return item;
+    }
+
+    public int getQuantity() {
+        return units.size();
+    }
+
+    /**
+     * Pedidos atendidos pelo lote, em ordem de prioridade (um ID por unidade)
+     */
+    public List<Integer> getOrderIds() {
+        List<Integer> orderIds = new ArrayList<>(units.size());
+        for (KitchenScheduler.WorkUnit unit : units) {
+            orderIds.add(unit.ticket.order.getOrderId());
+        }
+        return orderIds;
+    }
+
+    List<KitchenScheduler.WorkUnit> getUnits() {
+        return Collections.unmodifiableList(units);
+    }
+
+    @Override
+    public String toString() {
+        return units.size() + "x " + item.getName();
+    }
+}
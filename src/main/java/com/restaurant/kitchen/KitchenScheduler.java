@@ -0,0 +1,345 @@
+package com.restaurant.kitchen;
+
+import com.restaurant.model.MenuItem;
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.model.OrderType;
+import com.restaurant.observer.Observer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fila de produção da cozinha com prioridade e agrupamento de itens
+ *
+ * Cada pedido PENDING vira uma comanda cujo prazo é o horário do pedido mais o
+ * tempo alvo do seu tipo (delivery precisa sair antes, então tem o menor
+ * alvo). Comandas com prazo mais próximo, e portanto também as mais antigas,
+ * são atendidas primeiro.
+ *
+ * Os cozinheiros pedem trabalho com nextBatch(): o scheduler pega o próximo
+ * item pendente da comanda mais urgente e junta no mesmo lote os itens
+ * idênticos das demais comandas, também por ordem de prioridade. O pedido vai
+ * para PREPARING quando o primeiro item dele entra em um lote e para READY
+ * quando o último lote com itens dele é concluído.
+ *
+ * As filas são estruturas concorrentes (skip lists), sem lock global: vários
+ * cozinheiros podem pegar e concluir lotes em paralelo com novas comandas.
+ */
+public class KitchenScheduler implements Observer {
+    public static final int DEFAULT_MAX_BATCH_SIZE = 10;
+
+    private static final Set<OrderStatus> INTERESTED =
+        Collections.unmodifiableSet(EnumSet.of(OrderStatus.PENDING, OrderStatus.CANCELLED));
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+
+    private static final Comparator<Ticket> TICKET_ORDER = (a, b) -> {
+        int byDue = Long.compare(a.dueMillis, b.dueMillis);
+        return byDue != 0 ? byDue : Long.compare(a.sequence, b.sequence);
+    };
+
+    private static final Comparator<WorkUnit> UNIT_ORDER = (a, b) -> {
+        int byTicket = a.ticket == b.ticket ? 0 : TICKET_ORDER.compare(a.ticket, b.ticket);
+        return byTicket != 0 ? byTicket : Integer.compare(a.index, b.index);
+    };
+
+    private final int maxBatchSize;
+    private volatile long[] targetMillis;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentSkipListSet<Ticket> queue = new ConcurrentSkipListSet<>(TICKET_ORDER);
+    private final ConcurrentHashMap<Integer, Ticket> tickets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<ItemKey, ConcurrentSkipListSet<WorkUnit>> unitsByItem = new ConcurrentHashMap<>();
+    private final Object workAvailable = new Object();
+    private final AtomicInteger waitingCooks = new AtomicInteger();
+
+    public KitchenScheduler() {
+        this(DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public KitchenScheduler(int maxBatchSize) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Tamanho máximo do lote deve ser positivo");
+        }
+        this.maxBatchSize = maxBatchSize;
+        long[] targets = new long[ORDER_TYPES.length];
+        targets[OrderType.DELIVERY.ordinal()] = Duration.ofMinutes(10).toMillis();
+        targets[OrderType.DINE_IN.ordinal()] = Duration.ofMinutes(15).toMillis();
+        targets[OrderType.TAKEAWAY.ordinal()] = Duration.ofMinutes(20).toMillis();
+        this.targetMillis = targets;
+    }
+
+    /**
+     * Tempo alvo de preparo de um tipo de pedido; vale para as próximas comandas
+     */
+    public synchronized void setTargetTime(OrderType type, Duration target) {
+        long[] targets = targetMillis.clone();
+        targets[type.ordinal()] = target.toMillis();
+        targetMillis = targets;
+    }
+
+    public Duration getTargetTime(OrderType type) {
+        return Duration.ofMillis(targetMillis[type.ordinal()]);
+    }
+
+    /**
+     * Coloca o pedido na fila da cozinha; retorna false se ele já estiver na
+     * fila ou não tiver itens
+     */
+    public boolean submit(Order order) {
+        List<MenuItem> items = order.getItems();
+        if (items.isEmpty()) {
+            return false;
+        }
+        LocalDateTime orderTime = order.getOrderTime();
+        // Só a ordem relativa importa, então o horário local é tratado como UTC
+        long orderMillis = orderTime.toEpochSecond(ZoneOffset.UTC) * 1000 + orderTime.getNano() / 1_000_000;
+        Ticket ticket = new Ticket(order, orderMillis + targetMillis[order.getOrderType().ordinal()],
+            sequence.getAndIncrement(), items.size());
+        if (tickets.putIfAbsent(order.getOrderId(), ticket) != null) {
+            return false;
+        }
+        for (int i = 0; i < items.size(); i++) {
+            WorkUnit unit = new WorkUnit(ticket, i, items.get(i));
+            ticket.units[i] = unit;
+        }
+        // Itens antes da comanda: quem achar a comanda na fila já encontra os itens dela
+        for (WorkUnit unit : ticket.units) {
+            unitsByItem.compute(unit.key, (key, units) -> {
+                ConcurrentSkipListSet<WorkUnit> result = units != null ? units : new ConcurrentSkipListSet<>(UNIT_ORDER);
+                result.add(unit);
+                return result;
+            });
+        }
+        queue.add(ticket);
+        if (waitingCooks.get() > 0) {
+            synchronized (workAvailable) {
+                workAvailable.notifyAll();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Próximo lote a preparar, ou null se não houver itens pendentes
+     *
+     * Parte da comanda mais antiga; se os itens dela acabaram de ser pegos por
+     * outro cozinheiro (que ainda não os marcou), tenta a comanda seguinte em
+     * vez de recomeçar da mesma.
+     */
+    public KitchenBatch nextBatch() {
+        while (true) {
+            Iterator<Ticket> iterator = queue.iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            while (iterator.hasNext()) {
+                Ticket ticket = iterator.next();
+                WorkUnit seed = ticket.firstUntaken();
+                if (seed == null) {
+                    queue.remove(ticket);
+                    continue;
+                }
+                KitchenBatch batch = takeSameItem(seed);
+                if (batch != null) {
+                    return batch;
+                }
+            }
+            // Todas as comandas estão sendo pegas agora: espera as marcações terminarem
+            Thread.onSpinWait();
+        }
+    }
+
+    private KitchenBatch takeSameItem(WorkUnit seed) {
+        ConcurrentSkipListSet<WorkUnit> sameItem = unitsByItem.get(seed.key);
+        if (sameItem == null) {
+            return null;
+        }
+        List<WorkUnit> taken = new ArrayList<>();
+        List<Ticket> started = new ArrayList<>();
+        WorkUnit unit;
+        while (taken.size() < maxBatchSize && (unit = sameItem.pollFirst()) != null) {
+            unit.taken = true;
+            taken.add(unit);
+            Ticket ticket = unit.ticket;
+            if (ticket.untaken.decrementAndGet() == 0) {
+                queue.remove(ticket);
+            }
+            if (ticket.started.compareAndSet(false, true)) {
+                started.add(ticket);
+            }
+        }
+        unitsByItem.computeIfPresent(seed.key, (key, units) -> units.isEmpty() ? null : units);
+        if (taken.isEmpty()) {
+            return null;
+        }
+        for (Ticket ticket : started) {
+            if (!ticket.cancelled) {
+                ticket.order.transition(OrderStatus.PENDING, OrderStatus.PREPARING);
+            }
+        }
+        return new KitchenBatch(taken.get(0).item, taken);
+    }
+
+    /**
+     * Como nextBatch(), mas aguarda até o timeout por novos pedidos se a fila estiver vazia
+     */
+    public KitchenBatch takeBatch(long timeout, TimeUnit unit) throws InterruptedException {
+        long timeoutNanos = unit.toNanos(timeout);
+        long start = System.nanoTime();
+        while (true) {
+            KitchenBatch batch = nextBatch();
+            if (batch != null) {
+                return batch;
+            }
+            long remaining = timeoutNanos - (System.nanoTime() - start);
+            if (remaining <= 0) {
+                return null;
+            }
+            waitingCooks.incrementAndGet();
+            try {
+                synchronized (workAvailable) {
+                    if (queue.isEmpty()) {
+                        TimeUnit.NANOSECONDS.timedWait(workAvailable, remaining);
+                    }
+                }
+            } finally {
+                waitingCooks.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Marca o lote como pronto; pedidos sem mais itens pendentes vão para READY
+     */
+    public void complete(KitchenBatch batch) {
+        for (WorkUnit unit : batch.getUnits()) {
+            Ticket ticket = unit.ticket;
+            if (ticket.unfinished.decrementAndGet() == 0 && tickets.remove(ticket.order.getOrderId(), ticket)
+                    && !ticket.cancelled) {
+                ticket.order.transition(OrderStatus.PREPARING, OrderStatus.READY);
+            }
+        }
+    }
+
+    /**
+     * Retira o pedido da fila (itens já em preparo continuam nos seus lotes)
+     */
+    public boolean cancel(int orderId) {
+        Ticket ticket = tickets.remove(orderId);
+        if (ticket == null) {
+            return false;
+        }
+        ticket.cancelled = true;
+        queue.remove(ticket);
+        for (WorkUnit unit : ticket.units) {
+            ConcurrentSkipListSet<WorkUnit> units = unitsByItem.get(unit.key);
+            if (units != null) {
+                units.remove(unit);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pedidos com itens ainda não iniciados, em ordem de prioridade
+     */
+    public List<Order> getQueuedOrders() {
+        List<Order> orders = new ArrayList<>();
+        for (Ticket ticket : queue) {
+            orders.add(ticket.order);
+        }
+        return orders;
+    }
+
+    /**
+     * Quantidade de pedidos na cozinha (na fila ou em preparo)
+     */
+    public int getOpenTickets() {
+        return tickets.size();
+    }
+
+    @Override
+    public Set<OrderStatus> interestedStatuses() {
+        return INTERESTED;
+    }
+
+    @Override
+    public void update(Order order) {
+        update(order, order.getStatus());
+    }
+
+    /**
+     * Pedidos PENDING entram na fila; pedidos cancelados saem dela
+     */
+    @Override
+    public void update(Order order, OrderStatus status) {
+        if (status == OrderStatus.PENDING) {
+            submit(order);
+        } else if (status == OrderStatus.CANCELLED) {
+            cancel(order.getOrderId());
+        }
+    }
+
+    /**
+     * Comanda de um pedido na cozinha
+     */
+    static final class Ticket {
+        final Order order;
+        final long dueMillis;
+        final long sequence;
+        final WorkUnit[] units;
+        final AtomicInteger untaken;
+        final AtomicInteger unfinished;
+        final AtomicBoolean started = new AtomicBoolean();
+        volatile boolean cancelled;
+
+        Ticket(Order order, long dueMillis, long sequence, int itemCount) {
+            this.order = order;
+            this.dueMillis = dueMillis;
+            this.sequence = sequence;
+            this.units = new WorkUnit[itemCount];
+            this.untaken = new AtomicInteger(itemCount);
+            this.unfinished = new AtomicInteger(itemCount);
+        }
+
+        WorkUnit firstUntaken() {
+            for (WorkUnit unit : units) {
+                if (!unit.taken) {
+                    return unit;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Um item de uma comanda
+     */
+    static final class WorkUnit {
+        final Ticket ticket;
+        final int index;
+        final MenuItem item;
+        final ItemKey key;
+        volatile boolean taken;
+
+        WorkUnit(Ticket ticket, int index, MenuItem item) {
+            this.ticket = ticket;
+            this.index = index;
+            this.item = item;
+            this.key = ItemKey.of(item);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.restaurant.kitchen;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Praça de preparo da cozinha (ex.: chapa, fritadeira, forno de pizza)
+ *
+ * Cada praça tem sua própria fila de tarefas: ela atende a própria fila pela
+ * frente (mais antigas primeiro) e, quando fica ociosa, ajuda as praças
+ * compatíveis pegando tarefas do fim da fila delas.
+ */
+public final class KitchenStation {
+    private static final KitchenStation[] NONE = new KitchenStation[0];
+
+    private final String name;
+    private final ConcurrentLinkedDeque<StationTask> tasks = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicLong stolen = new AtomicLong();
+    private volatile KitchenStation[] helps = NONE;
+
+    KitchenStation(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Tarefas na fila da praça (inclui as de pedidos cancelados ainda não descartadas)
+     */
+    public int getPendingTasks() {
+        return pending.get();
+    }
+
+    /**
+     * Quantas tarefas de outras praças esta praça já assumiu
+     */
+    public long getStolenTasks() {
+        return stolen.get();
+    }
+
+    void offer(StationTask task) {
+        pending.incrementAndGet();
+        tasks.addLast(task);
+    }
+
+    StationTask pollOwn() {
+        StationTask task;
+        while ((task = tasks.pollFirst()) != null) {
+            pending.decrementAndGet();
+            if (!task.isCancelled()) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    StationTask steal() {
+        for (KitchenStation victim : helps) {
+            StationTask task;
+            while ((task = victim.tasks.pollLast()) != null) {
+                victim.pending.decrementAndGet();
+                if (!task.isCancelled()) {
+                    stolen.incrementAndGet();
+                    return task;
+                }
+            }
+        }
+        return null;
+    }
+
+    boolean hasWork() {
+        if (pending.get() > 0) {
+            return true;
+        }
+        for (KitchenStation victim : helps) {
+            if (victim.pending.get() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void setHelps(KitchenStation[] helps) {
+        this.helps = helps;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
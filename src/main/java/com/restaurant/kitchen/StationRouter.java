@@ -0,0 +1,278 @@
+package com.restaurant.kitchen;
+
+import com.restaurant.decorator.AddOn;
+import com.restaurant.model.MenuItem;
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.observer.Observer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Divide os pedidos entre as praças de preparo e junta as partes no final
+ *
+ * Cada item vai para a praça do seu item básico (pelo SKU); itens sem regra
+ * para o SKU seguem a regra do último extra aplicado que tiver uma (ex.: tudo
+ * com bacon vai para a chapa) e, por fim, a praça padrão.
+ *
+ * As praças pegam trabalho com next(praça). Uma praça sem tarefas próprias
+ * assume tarefas das praças que ela pode cobrir (configurado em addStation),
+ * então nenhuma praça fica parada enquanto outra acumula fila. O pedido vai
+ * para PREPARING quando o primeiro item começa a ser preparado e para READY
+ * quando todas as partes, em todas as praças, são concluídas.
+ *
+ * Um pedido com algum item sem praça não entra na cozinha: fica em
+ * getUnroutableOrders() até ser reenviado com submit() depois de ajustadas as
+ * regras, ou cancelado.
+ */
+public class StationRouter implements Observer {
+    private static final Set<OrderStatus> INTERESTED =
+        Collections.unmodifiableSet(EnumSet.of(OrderStatus.PENDING, OrderStatus.CANCELLED));
+    private static final AddOn.Kind[] ADD_ON_KINDS = AddOn.Kind.values();
+
+    private final ConcurrentHashMap<String, KitchenStation> stations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, KitchenStation> stationBySku = new ConcurrentHashMap<>();
+    private volatile KitchenStation[] stationByAddOn = new KitchenStation[ADD_ON_KINDS.length];
+    private volatile KitchenStation defaultStation;
+    private final ConcurrentHashMap<Integer, RoutedOrder> orders = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Order> unroutable = new ConcurrentHashMap<>();
+    private final Object workAvailable = new Object();
+    private final AtomicInteger waitingCooks = new AtomicInteger();
+
+    /**
+     * Cadastra uma praça que, quando ociosa, pode assumir tarefas das praças
+     * informadas (na ordem dada); as praças cobertas são criadas se necessário
+     */
+    public synchronized KitchenStation addStation(String name, String... canCoverFor) {
+        KitchenStation station = stations.computeIfAbsent(name, KitchenStation::new);
+        KitchenStation[] helps = new KitchenStation[canCoverFor.length];
+        for (int i = 0; i < canCoverFor.length; i++) {
+            if (canCoverFor[i].equals(name)) {
+                throw new IllegalArgumentException("Praça não pode cobrir a si mesma: " + name);
+            }
+            helps[i] = stations.computeIfAbsent(canCoverFor[i], KitchenStation::new);
+        }
+        station.setHelps(helps);
+        return station;
+    }
+
+    public KitchenStation getStation(String name) {
+        KitchenStation station = stations.get(name);
+        if (station == null) {
+            throw new IllegalArgumentException("Praça desconhecida: " + name);
+        }
+        return station;
+    }
+
+    public List<KitchenStation> getStations() {
+        return new ArrayList<>(stations.values());
+    }
+
+    /**
+     * Encaminha o item básico com este SKU (e suas variações com extras) para a praça
+     */
+    public void routeSku(String sku, String station) {
+        stationBySku.put(sku, getStation(station));
+    }
+
+    /**
+     * Encaminha para a praça os itens com este extra cujo SKU não tem regra própria
+     */
+    public synchronized void routeAddOn(AddOn.Kind kind, String station) {
+        KitchenStation[] routes = stationByAddOn.clone();
+        routes[kind.ordinal()] = getStation(station);
+        stationByAddOn = routes;
+    }
+
+    /**
+     * Praça para os itens sem nenhuma regra (null deixa esses pedidos em getUnroutableOrders())
+     */
+    public void setDefaultStation(String station) {
+        defaultStation = station == null ? null : getStation(station);
+    }
+
+    /**
+     * Praça para a qual o item seria encaminhado, ou null se nenhuma regra se aplicar
+     */
+    public KitchenStation route(MenuItem item) {
+        ItemKey key = ItemKey.of(item);
+        KitchenStation station = stationBySku.get(key.getSku());
+        if (station != null) {
+            return station;
+        }
+        KitchenStation[] routes = stationByAddOn;
+        List<AddOn> addOns = key.getAddOns();
+        for (int i = addOns.size() - 1; i >= 0; i--) {
+            station = routes[addOns.get(i).getKind().ordinal()];
+            if (station != null) {
+                return station;
+            }
+        }
+        return defaultStation;
+    }
+
+    /**
+     * Distribui os itens do pedido entre as praças; retorna false se ele já
+     * estiver na cozinha, não tiver itens ou tiver algum item sem praça (nesse
+     * caso nada é enfileirado e ele fica em getUnroutableOrders())
+     */
+    public boolean submit(Order order) {
+        List<MenuItem> items = order.getItems();
+        if (items.isEmpty()) {
+            return false;
+        }
+        KitchenStation[] targets = new KitchenStation[items.size()];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = route(items.get(i));
+            if (targets[i] == null) {
+                unroutable.put(order.getOrderId(), order);
+                return false;
+            }
+        }
+        RoutedOrder routed = new RoutedOrder(order, targets.length);
+        if (orders.putIfAbsent(order.getOrderId(), routed) != null) {
+            return false;
+        }
+        unroutable.remove(order.getOrderId(), order);
+        for (int i = 0; i < targets.length; i++) {
+            targets[i].offer(new StationTask(routed, items.get(i), targets[i]));
+        }
+        if (waitingCooks.get() > 0) {
+            synchronized (workAvailable) {
+                workAvailable.notifyAll();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Próxima tarefa da praça (da própria fila ou assumida de uma praça
+     * coberta), ou null se não houver trabalho para ela
+     */
+    public StationTask next(String stationName) {
+        KitchenStation station = getStation(stationName);
+        StationTask task = station.pollOwn();
+        if (task == null) {
+            task = station.steal();
+            if (task == null) {
+                return null;
+            }
+        }
+        RoutedOrder routed = task.routed;
+        if (routed.started.compareAndSet(false, true) && !routed.cancelled) {
+            routed.order.transition(OrderStatus.PENDING, OrderStatus.PREPARING);
+        }
+        return task;
+    }
+
+    /**
+     * Como next(), mas aguarda até o timeout por trabalho se não houver nenhum
+     */
+    public StationTask take(String stationName, long timeout, TimeUnit unit) throws InterruptedException {
+        KitchenStation station = getStation(stationName);
+        long timeoutNanos = unit.toNanos(timeout);
+        long start = System.nanoTime();
+        while (true) {
+            StationTask task = next(stationName);
+            if (task != null) {
+                return task;
+            }
+            long remaining = timeoutNanos - (System.nanoTime() - start);
+            if (remaining <= 0) {
+                return null;
+            }
+            waitingCooks.incrementAndGet();
+            try {
+                synchronized (workAvailable) {
+                    if (!station.hasWork()) {
+                        TimeUnit.NANOSECONDS.timedWait(workAvailable, remaining);
+                    }
+                }
+            } finally {
+                waitingCooks.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Marca a tarefa como pronta; quando todas as partes do pedido terminam ele vai para READY
+     */
+    public void complete(StationTask task) {
+        RoutedOrder routed = task.routed;
+        if (routed.remaining.decrementAndGet() == 0 && orders.remove(routed.order.getOrderId(), routed)
+                && !routed.cancelled) {
+            routed.order.transition(OrderStatus.PREPARING, OrderStatus.READY);
+        }
+    }
+
+    /**
+     * Retira o pedido da cozinha; as tarefas dele ainda nas filas são descartadas
+     */
+    public boolean cancel(int orderId) {
+        boolean parked = unroutable.remove(orderId) != null;
+        RoutedOrder routed = orders.remove(orderId);
+        if (routed == null) {
+            return parked;
+        }
+        routed.cancelled = true;
+        return true;
+    }
+
+    /**
+     * Quantidade de pedidos na cozinha (em fila ou em preparo)
+     */
+    public int getOpenOrders() {
+        return orders.size();
+    }
+
+    /**
+     * Pedidos recusados por ter algum item sem praça
+     */
+    public List<Order> getUnroutableOrders() {
+        return new ArrayList<>(unroutable.values());
+    }
+
+    @Override
+    public Set<OrderStatus> interestedStatuses() {
+        return INTERESTED;
+    }
+
+    @Override
+    public void update(Order order) {
+        update(order, order.getStatus());
+    }
+
+    /**
+     * Pedidos PENDING são distribuídos entre as praças; pedidos cancelados saem delas
+     */
+    @Override
+    public void update(Order order, OrderStatus status) {
+        if (status == OrderStatus.PENDING) {
+            submit(order);
+        } else if (status == OrderStatus.CANCELLED) {
+            cancel(order.getOrderId());
+        }
+    }
+
+    /**
+     * Pedido dividido entre as praças, com a contagem de partes ainda não concluídas
+     */
+    static final class RoutedOrder {
+        final Order order;
+        final AtomicInteger remaining;
+        final AtomicBoolean started = new AtomicBoolean();
+        volatile boolean cancelled;
+
+        RoutedOrder(Order order, int parts) {
+            this.order = order;
+            this.remaining = new AtomicInteger(parts);
+        }
+    }
+}
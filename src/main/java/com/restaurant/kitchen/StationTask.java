@@ -0,0 +1,42 @@
+package com.restaurant.kitchen;
+
+import com.restaurant.model.MenuItem;
+
+/**
+ * Um item de um pedido encaminhado para uma praça de preparo
+ */
+public final class StationTask {
+    final StationRouter.RoutedOrder routed;
+    private final MenuItem item;
+    private final KitchenStation station;
+
+    StationTask(StationRouter.RoutedOrder routed, MenuItem item, KitchenStation station) {
+        this.routed = routed;
+        this.item = item;
+        this.station = station;
+    }
+
+    public MenuItem getItem() {
+        return item;
+    }
+
+    public int getOrderId() {
+        return routed.order.getOrderId();
+    }
+
+    /**
+     * Praça para a qual o item foi encaminhado (pode ter sido preparado por outra)
+     */
+    public KitchenStation getStation() {
+        return station;
+    }
+
+    boolean isCancelled() {
+        return routed.cancelled;
+    }
+
+    @Override
+    public String toString() {
+        return item.getName() + " (pedido #" + getOrderId() + ", " + station.getName() + ")";
+    }
+}
@@ -0,0 +1,17 @@
+package com.restaurant.model;
+
+/**
+ * Taxa de entrega cobrada para um endereço (antes da regra de entrega grátis)
+ */
+public interface DeliveryFeeSchedule {
+    DeliveryFeeSchedule FLAT = address -> 500; // R$ 5,00 para qualquer endereço
+
+    long feeCents(String deliveryAddress);
+
+    /**
+     * Mesma taxa para qualquer endereço (ex.: taxa já resolvida de um pedido restaurado)
+     */
+    static DeliveryFeeSchedule fixed(long feeCents) {
+        return address -> feeCents;
+    }
+}
@@ -4,25 +4,45 @@ package com.restaurant.model;
  * PADRÃO FACTORY METHOD - Concrete Product
  * 
  * Pedido de delivery
- * Possui taxa de entrega baseada na distância
+ * Possui taxa de entrega baseada no endereço (DeliveryFeeSchedule), resolvida
+ * uma vez por pedido e guardada, já que o endereço não muda
  */
 public class DeliveryOrder extends Order {
-    private static final double BASE_DELIVERY_FEE = 5.00;
-    private static final double MINIMUM_FOR_FREE_DELIVERY = 50.00;
+    private static final long MINIMUM_FOR_FREE_DELIVERY_CENTS = 5_000; // R$ 50,00
     private String deliveryAddress;
+    private final DeliveryFeeSchedule feeSchedule;
+    // Taxa do endereço; -1 enquanto não for consultada
+    private volatile long addressFeeCents = -1;
     
     public DeliveryOrder(int orderId, String customerName, String deliveryAddress) {
+        this(orderId, customerName, deliveryAddress, DeliveryFeeSchedule.FLAT);
+    }
+
+    public DeliveryOrder(int orderId, String customerName, String deliveryAddress, DeliveryFeeSchedule feeSchedule) {
         super(orderId, customerName);
         this.deliveryAddress = deliveryAddress;
+        this.feeSchedule = feeSchedule;
     }
 
     @Override
-    public double calculateDeliveryFee() {
+    public long calculateDeliveryFeeCents() {
         // Entrega grátis para pedidos acima de R$ 50
-        if (basePrice >= MINIMUM_FOR_FREE_DELIVERY) {
-            return 0.0;
+        if (items.getTotalCents() >= MINIMUM_FOR_FREE_DELIVERY_CENTS) {
+            return 0;
+        }
+        return getAddressFeeCents();
+    }
+
+    /**
+     * Taxa do endereço pela tabela do pedido, antes da regra de entrega grátis
+     */
+    public long getAddressFeeCents() {
+        long fee = addressFeeCents;
+        if (fee < 0) {
+            fee = feeSchedule.feeCents(deliveryAddress);
+            addressFeeCents = fee;
         }
-        return BASE_DELIVERY_FEE;
+        return fee;
     }
 
     @Override
@@ -33,10 +53,4 @@ public class DeliveryOrder extends Order {
     public String getDeliveryAddress() {
         return deliveryAddress;
     }
-
-    @Override
-    public String toString() {
-        String baseString = super.toString();
-        return baseString.replace("===\n", "===\nEndereço: " + deliveryAddress + "\n");
-    }
 }
@@ -13,8 +13,8 @@ public class DineInOrder extends Order {
     }
 
     @Override
-    public double calculateDeliveryFee() {
-        return 0.0; // Sem taxa para pedidos presenciais
+    public long calculateDeliveryFeeCents() {
+        return 0; // Sem taxa para pedidos presenciais
     }
 
     @Override
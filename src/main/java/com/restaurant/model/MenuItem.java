@@ -6,6 +6,22 @@ package com.restaurant.model;
  */
 public interface MenuItem {
     String getName();
+
+    /**
+     * Escreve o nome no buffer; decorators montam o nome da cadeia sem criar
+     * Strings intermediárias
+     */
+    default StringBuilder appendName(StringBuilder sb) {
+        return sb.append(getName());
+    }
     String getDescription();
-    double getPrice();
+
+    /**
+     * Preço em centavos
+     */
+    long getPriceCents();
+
+    default double getPrice() {
+        return Money.toReais(getPriceCents());
+    }
 }
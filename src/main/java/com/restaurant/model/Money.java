@@ -0,0 +1,67 @@
+package com.restaurant.model;
+
+/**
+ * Valores monetários em ponto fixo (centavos em um long)
+ *
+ * Somas e subtrações em centavos são exatas, sem o acúmulo de erro de double,
+ * e nenhuma das operações aloca objetos. Os valores em reais (double) só
+ * aparecem nas bordas, para manter compatibilidade com a API anterior.
+ */
+public final class Money {
+    public static final long CENTS_PER_UNIT = 100;
+    private static final long BASIS_POINTS = 10_000;
+
+    private Money() {
+    }
+
+    /**
+     * Converte um valor em reais para centavos, arredondando para o centavo mais próximo
+     */
+    public static long ofReais(double amount) {
+        return Math.round(amount * CENTS_PER_UNIT);
+    }
+
+    public static double toReais(long cents) {
+        return cents / (double) CENTS_PER_UNIT;
+    }
+
+    /**
+     * Percentual de um valor, em pontos-base (2000 = 20%), arredondado meio para cima
+     */
+    public static long percentOf(long cents, long basisPoints) {
+        return divideRounded(cents * basisPoints, BASIS_POINTS);
+    }
+
+    /**
+     * cents * numerator / denominator, arredondado meio para cima
+     */
+    public static long multiply(long cents, long numerator, long denominator) {
+        return divideRounded(cents * numerator, denominator);
+    }
+
+    /**
+     * Escreve o valor no formato "1234.56" sem criar Strings intermediárias
+     */
+    public static StringBuilder appendTo(StringBuilder sb, long cents) {
+        if (cents < 0) {
+            sb.append('-');
+            cents = -cents;
+        }
+        long units = cents / CENTS_PER_UNIT;
+        int fraction = (int) (cents % CENTS_PER_UNIT);
+        sb.append(units).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(12), cents).toString();
+    }
+
+    private static long divideRounded(long value, long divisor) {
+        long half = divisor / 2;
+        return value >= 0 ? (value + half) / divisor : -((-value + half) / divisor);
+    }
+}
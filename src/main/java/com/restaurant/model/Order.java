@@ -2,74 +2,264 @@ package com.restaurant.model;
 
 import com.restaurant.observer.Subject;
 import com.restaurant.observer.Observer;
+import com.restaurant.observer.OrderEventBus;
+import com.restaurant.observer.ObserverDispatcher;
+import com.restaurant.observer.SynchronousObserverDispatcher;
+import com.restaurant.receipt.ReceiptRenderer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * Classe abstrata representando um pedido
  * Implementa o padrão Observer como Subject
  */
 public abstract class Order implements Subject {
+    private static final AtomicReferenceFieldUpdater<Order, OrderStatus> STATUS =
+        AtomicReferenceFieldUpdater.newUpdater(Order.class, OrderStatus.class, "status");
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
     protected int orderId;
     protected String customerName;
-    protected List<MenuItem> items;
-    protected OrderStatus status;
+    protected final OrderItems items;
+    protected volatile OrderStatus status;
     protected LocalDateTime orderTime;
-    protected List<Observer> observers;
-    protected double basePrice;
+    // Observers por status (índice = ordinal). Copy-on-write: attach e detach publicam uma
+    // tabela nova, nunca alterada depois, e as notificações só leem o campo. Criada só no
+    // primeiro attach: pedidos ligados ao barramento de eventos não precisam dela
+    private volatile List<List<Observer>> subscriptions;
+    protected OrderEventBus eventBus;
+    protected ObserverDispatcher observerDispatcher;
+    protected OrderLifecycleListener lifecycleListener;
+    private boolean announced;
 
     public Order(int orderId, String customerName) {
         this.orderId = orderId;
         this.customerName = customerName;
-        this.items = new ArrayList<>();
+        this.items = new OrderItems();
         this.status = OrderStatus.PENDING;
         this.orderTime = LocalDateTime.now();
-        this.observers = new ArrayList<>();
-        this.basePrice = 0.0;
+        this.observerDispatcher = SynchronousObserverDispatcher.INSTANCE;
     }
 
     public void addItem(MenuItem item) {
         items.add(item);
-        basePrice += item.getPrice();
+        if (lifecycleListener != null) {
+            lifecycleListener.onItemAdded(this, item);
+        }
     }
 
     public void removeItem(MenuItem item) {
-        items.remove(item);
-        basePrice -= item.getPrice();
+        if (items.remove(item)) {
+            if (lifecycleListener != null) {
+                lifecycleListener.onItemRemoved(this, item);
+            }
+        }
     }
 
-    // Método abstrato que será implementado pelas subclasses
-    public abstract double calculateDeliveryFee();
+    // Método abstrato que será implementado pelas subclasses (valor em centavos)
+    public abstract long calculateDeliveryFeeCents();
     
     // Método abstrato para obter o tipo do pedido
     public abstract OrderType getOrderType();
 
+    public double calculateDeliveryFee() {
+        return Money.toReais(calculateDeliveryFeeCents());
+    }
+
+    public long getTotalPriceCents() {
+        return items.getTotalCents() + calculateDeliveryFeeCents();
+    }
+
     public double getTotalPrice() {
-        return basePrice + calculateDeliveryFee();
+        return Money.toReais(getTotalPriceCents());
     }
 
+    /**
+     * Muda o status a partir do status atual, qualquer que seja ele
+     *
+     * @throws IllegalStateException se a máquina de estados não permitir a
+     *         transição a partir do status atual
+     */
     public void setStatus(OrderStatus newStatus) {
-        this.status = newStatus;
-        notifyObservers();
+        while (true) {
+            OrderStatus current = status;
+            if (!current.canTransitionTo(newStatus)) {
+                throw illegalTransition(current, newStatus);
+            }
+            if (STATUS.compareAndSet(this, current, newStatus)) {
+                statusChanged(newStatus);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Muda o status apenas se ele ainda for o esperado (compare-and-set)
+     *
+     * Para atualizações concorrentes, ex.: garçom e cozinha agindo sobre o
+     * mesmo pedido. Retorna o status vencedor: o novo status se a mudança foi
+     * aplicada, ou o status atual se outra thread mudou o pedido antes.
+     *
+     * @throws IllegalStateException se a transição do status esperado para o novo não for permitida
+     */
+    public OrderStatus transition(OrderStatus expected, OrderStatus newStatus) {
+        if (!expected.canTransitionTo(newStatus)) {
+            throw illegalTransition(expected, newStatus);
+        }
+        if (STATUS.compareAndSet(this, expected, newStatus)) {
+            statusChanged(newStatus);
+            return newStatus;
+        }
+        return status;
+    }
+
+    // Mudanças feitas em threads diferentes podem ser notificadas fora de ordem; cada evento leva seu status
+    private void statusChanged(OrderStatus newStatus) {
+        if (lifecycleListener != null) {
+            lifecycleListener.onStatusChanged(this, newStatus);
+        }
+        if (eventBus != null) {
+            eventBus.publish(this, newStatus);
+        }
+        notifyObservers(newStatus);
+    }
+
+    private IllegalStateException illegalTransition(OrderStatus from, OrderStatus to) {
+        return new IllegalStateException("Transição de status inválida no pedido #" + orderId
+            + ": " + from + " -> " + to);
+    }
+
+    /**
+     * Restaura status e horário de um pedido recuperado (ex.: do journal),
+     * sem notificar observers nem o listener de ciclo de vida
+     */
+    public void restore(OrderStatus status, LocalDateTime orderTime) {
+        this.status = status;
+        this.orderTime = orderTime;
     }
 
     // Implementação do padrão Observer
+    // Observers ficam em uma tabela por status: cada notificação só percorre os interessados nele
+
+    /**
+     * Registra o observer nos status declarados em interestedStatuses(), se o
+     * tipo deste pedido estiver entre os interestedTypes() dele
+     */
     @Override
     public void attach(Observer observer) {
-        observers.add(observer);
+        if (observer.interestedTypes().contains(getOrderType())) {
+            subscribe(observer, observer.interestedStatuses());
+        }
     }
 
     @Override
-    public void detach(Observer observer) {
-        observers.remove(observer);
+    public void attach(Observer observer, OrderStatus... statuses) {
+        subscribe(observer, Arrays.asList(statuses));
+    }
+
+    private synchronized void subscribe(Observer observer, Collection<OrderStatus> statuses) {
+        List<List<Observer>> updated = copySubscriptions();
+        for (OrderStatus interested : statuses) {
+            updated.get(interested.ordinal()).add(observer);
+        }
+        publishSubscriptions(updated);
     }
 
+    @Override
+    public synchronized void detach(Observer observer) {
+        if (subscriptions == null) {
+            return;
+        }
+        List<List<Observer>> updated = copySubscriptions();
+        for (List<Observer> observers : updated) {
+            observers.remove(observer);
+        }
+        publishSubscriptions(updated);
+    }
+
+    private List<List<Observer>> copySubscriptions() {
+        List<List<Observer>> current = subscriptions;
+        List<List<Observer>> copy = new ArrayList<>(STATUSES.length);
+        for (int i = 0; i < STATUSES.length; i++) {
+            copy.add(current == null ? new ArrayList<>() : new ArrayList<>(current.get(i)));
+        }
+        return copy;
+    }
+
+    private void publishSubscriptions(List<List<Observer>> updated) {
+        for (int i = 0; i < updated.size(); i++) {
+            if (updated.get(i).isEmpty()) {
+                updated.set(i, Collections.emptyList());
+            }
+        }
+        subscriptions = updated;
+    }
+
+    /**
+     * Reenvia o status atual só aos observers anexados a este pedido
+     *
+     * O barramento de eventos recebe apenas mudanças de status efetivas e o
+     * anúncio feito por announce(), então chamar este método não gera eventos
+     * repetidos para os observers do barramento.
+     */
     @Override
     public void notifyObservers() {
-        for (Observer observer : observers) {
-            observer.update(this);
+        notifyObservers(status);
+    }
+
+    /**
+     * Anuncia que o pedido PENDING está completo (todos os itens adicionados)
+     * e pode seguir para a cozinha: notifica os observers e o barramento
+     *
+     * Só o primeiro anúncio tem efeito; retorna false se o pedido já foi
+     * anunciado ou não está mais PENDING.
+     */
+    public boolean announce() {
+        synchronized (this) {
+            if (announced || status != OrderStatus.PENDING) {
+                return false;
+            }
+            announced = true;
         }
+        if (eventBus != null) {
+            eventBus.publish(this, OrderStatus.PENDING);
+        }
+        notifyObservers(OrderStatus.PENDING);
+        return true;
+    }
+
+    private void notifyObservers(OrderStatus status) {
+        List<List<Observer>> table = subscriptions;
+        List<Observer> observers = table == null ? null : table.get(status.ordinal());
+        if (observers != null && !observers.isEmpty()) {
+            observerDispatcher.dispatch(this, status, observers);
+        }
+    }
+
+    /**
+     * Define como as notificações deste pedido são entregues (síncrona por padrão)
+     */
+    public void setObserverDispatcher(ObserverDispatcher observerDispatcher) {
+        this.observerDispatcher = observerDispatcher;
+    }
+
+    /**
+     * Publica as mudanças de status deste pedido no barramento (além dos observers anexados)
+     */
+    public void setEventBus(OrderEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Define quem recebe os eventos de ciclo de vida deste pedido (ex.: journal)
+     */
+    public void setLifecycleListener(OrderLifecycleListener lifecycleListener) {
+        this.lifecycleListener = lifecycleListener;
     }
 
     // Getters
@@ -81,8 +271,12 @@ public abstract class Order implements Subject {
         return customerName;
     }
 
+    /**
+     * Itens atuais do pedido, em uma lista somente leitura que não muda com
+     * alterações posteriores (não há cópia a cada chamada)
+     */
     public List<MenuItem> getItems() {
-        return new ArrayList<>(items);
+        return items.snapshot();
     }
 
     public OrderStatus getStatus() {
@@ -93,29 +287,16 @@ public abstract class Order implements Subject {
         return orderTime;
     }
 
+    public long getBasePriceCents() {
+        return items.getTotalCents();
+    }
+
     public double getBasePrice() {
-        return basePrice;
+        return Money.toReais(items.getTotalCents());
     }
 
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("=== Pedido #").append(orderId).append(" ===\n");
-        sb.append("Tipo: ").append(getOrderType().getDescription()).append("\n");
-        sb.append("Cliente: ").append(customerName).append("\n");
-        sb.append("Status: ").append(status.getDescription()).append("\n");
-        sb.append("Horário: ").append(orderTime).append("\n");
-        sb.append("\nItens:\n");
-        for (MenuItem item : items) {
-            sb.append("  - ").append(item.getName())
-              .append(" (R$ ").append(String.format("%.2f", item.getPrice())).append(")\n");
-        }
-        sb.append("\nSubtotal: R$ ").append(String.format("%.2f", basePrice)).append("\n");
-        double deliveryFee = calculateDeliveryFee();
-        if (deliveryFee > 0) {
-            sb.append("Taxa de entrega: R$ ").append(String.format("%.2f", deliveryFee)).append("\n");
-        }
-        sb.append("Total: R$ ").append(String.format("%.2f", getTotalPrice())).append("\n");
-        return sb.toString();
+        return ReceiptRenderer.appendReceipt(this, ReceiptRenderer.buffer()).toString();
     }
 }
@@ -0,0 +1,115 @@
+package com.restaurant.model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Itens de um pedido com o subtotal mantido junto, seguros para edição concorrente
+ *
+ * Cada alteração cria um novo snapshot imutável (itens + subtotal em
+ * centavos) e o publica com compare-and-set, sem lock: vários terminais podem
+ * adicionar e remover itens da mesma comanda ao mesmo tempo. Leitores recebem
+ * o snapshot atual sem cópia, sempre com itens e subtotal coerentes entre si.
+ *
+ * Alterar custa O(n), o que compensa para pedidos (poucos itens, muitas
+ * leituras por preço, recibo, cozinha e persistência).
+ */
+public final class OrderItems {
+    private static final Snapshot EMPTY = new Snapshot(new MenuItem[0], 0);
+    private static final AtomicReferenceFieldUpdater<OrderItems, Snapshot> SNAPSHOT =
+        AtomicReferenceFieldUpdater.newUpdater(OrderItems.class, Snapshot.class, "snapshot");
+
+    private volatile Snapshot snapshot = EMPTY;
+
+    public void add(MenuItem item) {
+        long priceCents = item.getPriceCents();
+        while (true) {
+            Snapshot current = snapshot;
+            MenuItem[] items = new MenuItem[current.items.length + 1];
+            System.arraycopy(current.items, 0, items, 0, current.items.length);
+            items[current.items.length] = item;
+            if (SNAPSHOT.compareAndSet(this, current, new Snapshot(items, current.totalCents + priceCents))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove a primeira ocorrência do item; retorna false se ele não estiver no pedido
+     */
+    public boolean remove(MenuItem item) {
+        while (true) {
+            Snapshot current = snapshot;
+            int index = current.indexOf(item);
+            if (index < 0) {
+                return false;
+            }
+            MenuItem removed = current.items[index];
+            MenuItem[] items = new MenuItem[current.items.length - 1];
+            System.arraycopy(current.items, 0, items, 0, index);
+            System.arraycopy(current.items, index + 1, items, index, items.length - index);
+            if (SNAPSHOT.compareAndSet(this, current, new Snapshot(items, current.totalCents - removed.getPriceCents()))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Itens e subtotal atuais, lidos juntos
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public long getTotalCents() {
+        return snapshot.totalCents;
+    }
+
+    public int size() {
+        return snapshot.items.length;
+    }
+
+    /**
+     * Estado imutável dos itens em um instante; também é a lista somente leitura dos itens
+     */
+    public static final class Snapshot extends AbstractList<MenuItem> implements RandomAccess {
+        private final MenuItem[] items;
+        private final long totalCents;
+
+        private Snapshot(MenuItem[] items, long totalCents) {
+            this.items = items;
+            this.totalCents = totalCents;
+        }
+
+        @Override
+        public MenuItem get(int index) {
+            return items[index];
+        }
+
+        @Override
+        public int size() {
+            return items.length;
+        }
+
+        @Override
+        public int indexOf(Object item) {
+            if (item == null) {
+                return -1;
+            }
+            for (int i = 0; i < items.length; i++) {
+                if (item.equals(items[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Soma dos preços dos itens, em centavos
+         */
+        public long getTotalCents() {
+            return totalCents;
+        }
+    }
+}
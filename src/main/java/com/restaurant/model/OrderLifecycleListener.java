@@ -0,0 +1,19 @@
+package com.restaurant.model;
+
+/**
+ * Recebe os eventos do ciclo de vida de um pedido (criação, itens e status)
+ *
+ * Diferente dos observers, é chamado de forma síncrona antes das notificações,
+ * para uso por componentes de infraestrutura como o journal de pedidos. É
+ * chamado depois que o pedido já mudou, então as implementações não devem
+ * lançar exceções: uma falha deve ser registrada por elas mesmas.
+ */
+public interface OrderLifecycleListener {
+    void onCreated(Order order);
+
+    void onItemAdded(Order order, MenuItem item);
+
+    void onItemRemoved(Order order, MenuItem item);
+
+    void onStatusChanged(Order order, OrderStatus newStatus);
+}
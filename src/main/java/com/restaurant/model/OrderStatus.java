@@ -2,6 +2,10 @@ package com.restaurant.model;
 
 /**
  * Enum representando os possíveis status de um pedido
+ *
+ * Também define a máquina de estados do pedido:
+ * PENDING -> PREPARING -> READY -> DELIVERED, com cancelamento possível em
+ * qualquer status não final. DELIVERED e CANCELLED são finais.
  */
 public enum OrderStatus {
     PENDING("Pendente"),
@@ -10,6 +14,29 @@ public enum OrderStatus {
     DELIVERED("Entregue"),
     CANCELLED("Cancelado");
 
+    // Bitmasks por ordinal: transições diretas e status alcançáveis por qualquer caminho
+    private static final int[] TRANSITIONS = new int[values().length];
+    private static final int[] REACHABLE = new int[values().length];
+
+    static {
+        allow(PENDING, PREPARING, CANCELLED);
+        allow(PREPARING, READY, CANCELLED);
+        allow(READY, DELIVERED, CANCELLED);
+        for (int from = 0; from < TRANSITIONS.length; from++) {
+            int reachable = TRANSITIONS[from];
+            int previous;
+            do {
+                previous = reachable;
+                for (int via = 0; via < TRANSITIONS.length; via++) {
+                    if ((reachable & (1 << via)) != 0) {
+                        reachable |= TRANSITIONS[via];
+                    }
+                }
+            } while (reachable != previous);
+            REACHABLE[from] = reachable;
+        }
+    }
+
     private final String description;
 
     OrderStatus(String description) {
@@ -19,4 +46,28 @@ public enum OrderStatus {
     public String getDescription() {
         return description;
     }
+
+    /**
+     * Indica se o pedido pode ir diretamente deste status para o informado
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        return (TRANSITIONS[ordinal()] & (1 << next.ordinal())) != 0;
+    }
+
+    /**
+     * Indica se o status informado vem depois deste em algum caminho da máquina de estados
+     */
+    public boolean canReach(OrderStatus target) {
+        return (REACHABLE[ordinal()] & (1 << target.ordinal())) != 0;
+    }
+
+    public boolean isFinal() {
+        return TRANSITIONS[ordinal()] == 0;
+    }
+
+    private static void allow(OrderStatus from, OrderStatus... to) {
+        for (OrderStatus next : to) {
+            TRANSITIONS[from.ordinal()] |= 1 << next.ordinal();
+        }
+    }
 }
@@ -7,15 +7,15 @@ package com.restaurant.model;
  * Possui uma pequena taxa de embalagem
  */
 public class TakeawayOrder extends Order {
-    private static final double PACKAGING_FEE = 2.00;
+    private static final long PACKAGING_FEE_CENTS = 200; // R$ 2,00
     
     public TakeawayOrder(int orderId, String customerName) {
         super(orderId, customerName);
     }
 
     @Override
-    public double calculateDeliveryFee() {
-        return PACKAGING_FEE; // Taxa de embalagem
+    public long calculateDeliveryFeeCents() {
+        return PACKAGING_FEE_CENTS; // Taxa de embalagem
     }
 
     @Override
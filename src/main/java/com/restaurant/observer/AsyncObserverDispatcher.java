@@ -0,0 +1,281 @@
+package com.restaurant.observer;
+
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Entrega as notificações de forma assíncrona, desacoplando a latência da
+ * mudança de status do observer mais lento.
+ *
+ * Cada observer possui sua própria fila limitada, consumida por no máximo uma
+ * tarefa por vez no executor, garantindo que ele receba os status de um pedido
+ * na mesma ordem em que foram publicados. Quando a fila de um observer está
+ * cheia, quem publica fica bloqueado até haver espaço (backpressure).
+ *
+ * Um observer não deve alterar o status de pedidos despachados por este mesmo
+ * dispatcher, pois poderia bloquear esperando pela própria fila.
+ *
+ * A fila de um observer é descartada quando fica vazia, então observers
+ * desanexados ou de vida curta não ficam presos no dispatcher.
+ *
+ * dispatch() é chamado depois que a mudança de status já foi efetivada, então
+ * nunca lança exceção: notificações recebidas após o shutdown (ou enquanto quem
+ * publica é interrompido esperando espaço) são descartadas e contadas em
+ * getDroppedEvents(). Exceções lançadas pelos observers são contadas em
+ * getFailedNotifications(), com a mais recente em getLastFailure().
+ */
+public class AsyncObserverDispatcher implements ObserverDispatcher, AutoCloseable {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final int MAX_EVENTS_PER_RUN = 64;
+
+    private final Executor executor;
+    private final boolean ownsExecutor;
+    private final int queueCapacity;
+    private final ConcurrentHashMap<Observer, ObserverQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicLong pendingEvents = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final Object idleLock = new Object();
+    private volatile boolean shutdown;
+    private volatile RuntimeException lastFailure;
+
+    /**
+     * Usa threads virtuais quando a JVM oferece suporte, ou um pool de threads daemon
+     */
+    public AsyncObserverDispatcher() {
+        this(defaultExecutor(), true, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Usa um executor fornecido pelo chamador, que continua responsável por encerrá-lo
+     */
+    public AsyncObserverDispatcher(Executor executor, int queueCapacity) {
+        this(executor, false, queueCapacity);
+    }
+
+    private AsyncObserverDispatcher(Executor executor, boolean ownsExecutor, int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Capacidade da fila deve ser positiva");
+        }
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @Override
+    public void dispatch(Order order, OrderStatus status, List<Observer> observers) {
+        if (shutdown) {
+            dropped.addAndGet(observers.size());
+            return;
+        }
+        for (Observer observer : observers) {
+            // Reservada dentro do compute, para que a fila não seja descartada antes do enqueue
+            ObserverQueue queue = queues.compute(observer, (key, current) -> {
+                ObserverQueue result = current != null ? current : new ObserverQueue(key);
+                result.users.incrementAndGet();
+                return result;
+            });
+            try {
+                queue.enqueue(new Notification(order, status));
+            } finally {
+                queue.users.decrementAndGet();
+            }
+            // A entrega pode ter terminado antes da reserva ser liberada
+            queue.removeIfIdle();
+        }
+    }
+
+    /**
+     * Quantidade de notificações publicadas e ainda não entregues
+     */
+    public long getPendingEvents() {
+        return pendingEvents.get();
+    }
+
+    /**
+     * Notificações descartadas por chegarem depois do shutdown ou por interrupção de quem publicou
+     */
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * Notificações em que o observer lançou exceção
+     */
+    public long getFailedNotifications() {
+        return failed.get();
+    }
+
+    /**
+     * Exceção mais recente lançada por um observer, ou null se nenhum falhou
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Aguarda até que todas as notificações publicadas tenham sido entregues
+     */
+    public boolean drain(long timeout, TimeUnit unit) throws InterruptedException {
+        long timeoutNanos = unit.toNanos(timeout);
+        long start = System.nanoTime();
+        synchronized (idleLock) {
+            while (pendingEvents.get() > 0) {
+                long remaining = timeoutNanos - (System.nanoTime() - start);
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(idleLock, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Recusa novas notificações; as que já estão nas filas continuam sendo entregues
+     */
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Quantidade de observers com notificações em andamento
+     */
+    public int getActiveQueues() {
+        return queues.size();
+    }
+
+    /**
+     * Encerra o dispatcher, entrega o que estiver pendente e libera o executor próprio
+     */
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            drain(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (ownsExecutor) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    private void eventDelivered() {
+        if (pendingEvents.decrementAndGet() == 0) {
+            synchronized (idleLock) {
+                idleLock.notifyAll();
+            }
+        }
+    }
+
+    private static Executor defaultExecutor() {
+        try {
+            // Threads virtuais (Java 21+) obtidas por reflexão para manter compatibilidade com Java 11
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "observer-dispatcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private static final class Notification {
+        private final Order order;
+        private final OrderStatus status;
+
+        private Notification(Order order, OrderStatus status) {
+            this.order = order;
+            this.status = status;
+        }
+    }
+
+    /**
+     * Fila ordenada de um único observer
+     */
+    private final class ObserverQueue implements Runnable {
+        private final Observer observer;
+        private final BlockingQueue<Notification> events;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // Threads que obtiveram a fila em dispatch() e ainda não terminaram o enqueue
+        private final AtomicInteger users = new AtomicInteger();
+
+        private ObserverQueue(Observer observer) {
+            this.observer = observer;
+            this.events = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        void enqueue(Notification notification) {
+            pendingEvents.incrementAndGet();
+            try {
+                events.put(notification);
+            } catch (InterruptedException e) {
+                eventDelivered();
+                dropped.incrementAndGet();
+                Thread.currentThread().interrupt();
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!events.isEmpty() && scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            Notification notification;
+            int delivered = 0;
+            while (delivered < MAX_EVENTS_PER_RUN && (notification = events.poll()) != null) {
+                try {
+                    observer.update(notification.order, notification.status);
+                } catch (RuntimeException e) {
+                    lastFailure = e;
+                    failed.incrementAndGet();
+                } finally {
+                    delivered++;
+                    eventDelivered();
+                }
+            }
+            scheduled.set(false);
+            // Reagenda se chegaram eventos durante a execução ou se o limite por rodada foi atingido
+            schedule();
+            removeIfIdle();
+        }
+
+        void removeIfIdle() {
+            if (isIdle()) {
+                queues.computeIfPresent(observer, (key, current) -> current == this && isIdle() ? null : current);
+            }
+        }
+
+        private boolean isIdle() {
+            return users.get() == 0 && events.isEmpty() && !scheduled.get();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.restaurant.observer;
 
 import com.restaurant.model.Order;
 import com.restaurant.model.OrderStatus;
+import com.restaurant.output.ConsoleOutputSink;
+import com.restaurant.output.OutputSink;
 
 /**
  * PADRÃO OBSERVER - Concrete Observer
@@ -11,24 +13,40 @@ import com.restaurant.model.OrderStatus;
  */
 public class KitchenObserver implements Observer {
     private String kitchenName;
+    private final OutputSink output;
 
     public KitchenObserver(String kitchenName) {
+        this(kitchenName, ConsoleOutputSink.INSTANCE);
+    }
+
+    /**
+     * @param output destino das notificações (uma escrita por notificação)
+     */
+    public KitchenObserver(String kitchenName, OutputSink output) {
         this.kitchenName = kitchenName;
+        this.output = output;
     }
 
     @Override
     public void update(Order order) {
-        System.out.println("\n[" + kitchenName + "] Notificação recebida:");
-        System.out.println("  Pedido #" + order.getOrderId() + 
-                         " - Status: " + order.getStatus().getDescription());
+        update(order, order.getStatus());
+    }
+
+    @Override
+    public void update(Order order, OrderStatus status) {
+        StringBuilder sb = new StringBuilder(128);
+        sb.append("\n[").append(kitchenName).append("] Notificação recebida:\n");
+        sb.append("  Pedido #").append(order.getOrderId())
+            .append(" - Status: ").append(status.getDescription()).append('\n');
         
-        if (order.getStatus() == OrderStatus.PENDING) {
-            System.out.println("  ⚠️  Novo pedido para preparar!");
-        } else if (order.getStatus() == OrderStatus.PREPARING) {
-            System.out.println("  👨‍🍳 Pedido em preparação...");
-        } else if (order.getStatus() == OrderStatus.READY) {
-            System.out.println("  ✅ Pedido pronto para entrega!");
+        if (status == OrderStatus.PENDING) {
+            sb.append("  ⚠️  Novo pedido para preparar!\n");
+        } else if (status == OrderStatus.PREPARING) {
+            sb.append("  👨‍🍳 Pedido em preparação...\n");
+        } else if (status == OrderStatus.READY) {
+            sb.append("  ✅ Pedido pronto para entrega!\n");
         }
+        output.write(sb);
     }
 
     public String getKitchenName() {
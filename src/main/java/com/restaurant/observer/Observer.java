@@ -1,6 +1,11 @@
 package com.restaurant.observer;
 
 import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.model.OrderType;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * PADRÃO OBSERVER - Interface Observer
@@ -8,5 +13,33 @@ import com.restaurant.model.Order;
  * Define a interface para objetos que devem ser notificados sobre mudanças no Subject
  */
 public interface Observer {
+    Set<OrderStatus> ALL_STATUSES = Collections.unmodifiableSet(EnumSet.allOf(OrderStatus.class));
+    Set<OrderType> ALL_TYPES = Collections.unmodifiableSet(EnumSet.allOf(OrderType.class));
+
     void update(Order order);
+
+    /**
+     * Notificação com o status que originou o evento.
+     * Em entregas assíncronas o pedido pode já ter mudado de status quando o
+     * observer é executado, por isso o status do evento é passado explicitamente.
+     */
+    default void update(Order order, OrderStatus status) {
+        update(order);
+    }
+
+    /**
+     * Status cujas mudanças interessam ao observer; o Subject só o notifica
+     * nesses status (por padrão, todos)
+     */
+    default Set<OrderStatus> interestedStatuses() {
+        return ALL_STATUSES;
+    }
+
+    /**
+     * Tipos de pedido que interessam ao observer; em pedidos de outros tipos
+     * o attach não tem efeito (por padrão, todos)
+     */
+    default Set<OrderType> interestedTypes() {
+        return ALL_TYPES;
+    }
 }
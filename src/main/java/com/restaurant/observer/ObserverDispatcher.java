@@ -0,0 +1,13 @@
+package com.restaurant.observer;
+
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import java.util.List;
+
+/**
+ * Define como as notificações de um Subject são entregues aos seus observers
+ * (na thread de quem alterou o status ou de forma assíncrona)
+ */
+public interface ObserverDispatcher {
+    void dispatch(Order order, OrderStatus status, List<Observer> observers);
+}
@@ -0,0 +1,358 @@
+package com.restaurant.observer;
+
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.model.OrderType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Barramento de eventos de status de todos os pedidos do restaurante
+ *
+ * Os observers se registram uma única vez no barramento, em vez de serem
+ * anexados a cada pedido. Cada mudança de status vira um único evento em um
+ * buffer circular pré-alocado (no estilo do Disruptor): quem publica reserva
+ * uma posição com um contador atômico e preenche o slot existente, sem criar
+ * objetos, e os consumidores leem os eventos na ordem de publicação, cada um
+ * com o seu próprio cursor.
+ *
+ * register() coloca o observer no consumidor compartilhado, que entrega cada
+ * evento a todos os observers interessados no status e no tipo do pedido.
+ * registerDedicated() cria um consumidor com thread própria, para que um
+ * observer lento não atrase os demais. Quando o buffer está cheio, quem
+ * publica aguarda o consumidor mais lento liberar espaço (backpressure), por
+ * isso um observer não deve alterar o status de pedidos deste barramento
+ * dentro do update().
+ *
+ * Depois de close() as publicações são descartadas (e contadas em
+ * getDroppedEvents()); um evento cuja publicação começou antes de close() é
+ * entregue antes de os consumidores serem encerrados. Exceções lançadas pelos
+ * observers não interrompem o consumidor: são contadas em
+ * getFailedNotifications(), com a mais recente em getLastFailure().
+ */
+public class OrderEventBus implements AutoCloseable {
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+    private static final int SPIN_TRIES = 200;
+    private static final int STATUS_COUNT = OrderStatus.values().length;
+    private static final int TYPE_COUNT = OrderType.values().length;
+
+    private final Slot[] ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final AtomicInteger consumerIds = new AtomicInteger();
+    private final AtomicInteger publishing = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile Consumer[] consumers = new Consumer[0];
+    private volatile long gatingCache = -1;
+    private Consumer shared;
+    private volatile boolean closed;
+    private volatile RuntimeException lastFailure;
+
+    public OrderEventBus() {
+        this(DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize capacidade do buffer circular (potência de 2)
+     */
+    public OrderEventBus(int bufferSize) {
+        if (bufferSize <= 0 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("Tamanho do buffer deve ser potência de 2: " + bufferSize);
+        }
+        this.ring = new Slot[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            ring[i] = new Slot();
+        }
+        this.mask = bufferSize - 1;
+    }
+
+    /**
+     * Registra o observer no consumidor compartilhado, para os status e tipos declarados por ele
+     */
+    public synchronized void register(Observer observer) {
+        if (shared == null) {
+            shared = startConsumer();
+        }
+        shared.add(observer);
+    }
+
+    /**
+     * Registra o observer em um consumidor com thread própria
+     */
+    public synchronized void registerDedicated(Observer observer) {
+        startConsumer().add(observer);
+    }
+
+    /**
+     * Remove o observer do barramento; consumidores dedicados sem observers são encerrados
+     */
+    public synchronized void unregister(Observer observer) {
+        for (Consumer consumer : consumers) {
+            if (consumer.remove(observer) && consumer != shared && consumer.isEmpty()) {
+                stopConsumer(consumer);
+            }
+        }
+    }
+
+    /**
+     * Publica a mudança de status do pedido para todos os consumidores;
+     * retorna false (e descarta o evento) se o barramento estiver encerrado
+     */
+    public boolean publish(Order order, OrderStatus status) {
+        // Sinaliza a publicação antes de olhar closed: close() espera as que já passaram
+        publishing.incrementAndGet();
+        try {
+            if (closed) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            write(order, status);
+            return true;
+        } finally {
+            publishing.decrementAndGet();
+        }
+    }
+
+    private void write(Order order, OrderStatus status) {
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - ring.length;
+        if (wrapPoint > gatingCache) {
+            long minimum;
+            while (wrapPoint > (minimum = minimumConsumerSequence(sequence))) {
+                LockSupport.parkNanos(1);
+            }
+            gatingCache = minimum;
+        }
+        Slot slot = ring[(int) sequence & mask];
+        slot.order = order;
+        slot.status = status;
+        slot.sequence = sequence;
+        for (Consumer consumer : consumers) {
+            if (consumer.waiting) {
+                LockSupport.unpark(consumer.thread);
+            }
+        }
+    }
+
+    /**
+     * Eventos descartados por terem sido publicados depois de close()
+     */
+    public long getDroppedEvents() {
+        return dropped.get();
+    }
+
+    /**
+     * Entregas em que o observer lançou exceção
+     */
+    public long getFailedNotifications() {
+        return failed.get();
+    }
+
+    /**
+     * Exceção mais recente lançada por um observer, ou null se nenhum falhou
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Quantidade de eventos publicados e ainda não processados pelo consumidor mais lento
+     */
+    public long getPendingEvents() {
+        long published = claimed.get();
+        return published - Math.min(published, minimumConsumerSequence(published));
+    }
+
+    /**
+     * Aguarda até que todos os eventos já publicados tenham sido entregues
+     */
+    public boolean drain(long timeout, TimeUnit unit) throws InterruptedException {
+        long target = claimed.get();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (minimumConsumerSequence(target) < target) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(100_000);
+        }
+        return true;
+    }
+
+    /**
+     * Recusa novas publicações, entrega o que estiver pendente e encerra os consumidores
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        while (publishing.get() > 0) {
+            LockSupport.parkNanos(1_000);
+        }
+        try {
+            drain(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Consumer consumer : consumers) {
+            stopConsumer(consumer);
+        }
+        shared = null;
+    }
+
+    private long minimumConsumerSequence(long fallback) {
+        long minimum = fallback;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    private Consumer startConsumer() {
+        if (closed) {
+            throw new IllegalStateException("Barramento de eventos encerrado");
+        }
+        Consumer consumer = new Consumer(claimed.get());
+        Consumer[] current = consumers;
+        Consumer[] updated = new Consumer[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = consumer;
+        consumers = updated;
+        consumer.thread.start();
+        return consumer;
+    }
+
+    private void stopConsumer(Consumer consumer) {
+        List<Consumer> remaining = new ArrayList<>();
+        for (Consumer c : consumers) {
+            if (c != consumer) {
+                remaining.add(c);
+            }
+        }
+        consumers = remaining.toArray(new Consumer[0]);
+        consumer.running = false;
+        LockSupport.unpark(consumer.thread);
+    }
+
+    /**
+     * Posição do buffer circular, reaproveitada a cada volta
+     */
+    private static final class Slot {
+        private Order order;
+        private OrderStatus status;
+        // Escrito por último: torna o evento visível para os consumidores
+        private volatile long sequence = -1;
+    }
+
+    /**
+     * Consumidor com cursor e thread próprios e uma tabela de observers por (status, tipo)
+     */
+    private final class Consumer implements Runnable {
+        private final AtomicLong sequence;
+        private final Thread thread;
+        private volatile Observer[][] table = new Observer[STATUS_COUNT * TYPE_COUNT][0];
+        private volatile boolean waiting;
+        private volatile boolean running = true;
+
+        private Consumer(long start) {
+            this.sequence = new AtomicLong(start);
+            this.thread = new Thread(this, "order-event-bus-" + consumerIds.getAndIncrement());
+            this.thread.setDaemon(true);
+        }
+
+        void add(Observer observer) {
+            Observer[][] updated = table.clone();
+            for (OrderStatus status : observer.interestedStatuses()) {
+                for (OrderType type : observer.interestedTypes()) {
+                    int index = status.ordinal() * TYPE_COUNT + type.ordinal();
+                    Observer[] current = updated[index];
+                    Observer[] observers = new Observer[current.length + 1];
+                    System.arraycopy(current, 0, observers, 0, current.length);
+                    observers[current.length] = observer;
+                    updated[index] = observers;
+                }
+            }
+            table = updated;
+        }
+
+        boolean remove(Observer observer) {
+            Observer[][] updated = table.clone();
+            boolean removed = false;
+            for (int index = 0; index < updated.length; index++) {
+                List<Observer> observers = new ArrayList<>();
+                for (Observer candidate : updated[index]) {
+                    if (candidate != observer) {
+                        observers.add(candidate);
+                    }
+                }
+                if (observers.size() != updated[index].length) {
+                    updated[index] = observers.toArray(new Observer[0]);
+                    removed = true;
+                }
+            }
+            table = updated;
+            return removed;
+        }
+
+        boolean isEmpty() {
+            for (Observer[] observers : table) {
+                if (observers.length > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int idle = 0;
+            while (running) {
+                Slot slot = ring[(int) next & mask];
+                if (slot.sequence != next) {
+                    idle = await(slot, next, idle);
+                    continue;
+                }
+                idle = 0;
+                deliver(slot.order, slot.status);
+                // Só depois da entrega o slot pode ser reaproveitado
+                sequence.lazySet(next);
+                next++;
+            }
+        }
+
+        private int await(Slot slot, long next, int idle) {
+            if (idle < SPIN_TRIES) {
+                Thread.onSpinWait();
+                return idle + 1;
+            }
+            waiting = true;
+            // Confere de novo depois de sinalizar a espera, para não perder um unpark
+            if (slot.sequence != next && running) {
+                LockSupport.park(this);
+            }
+            waiting = false;
+            return idle;
+        }
+
+        private void deliver(Order order, OrderStatus status) {
+            for (Observer observer : table[status.ordinal() * TYPE_COUNT + order.getOrderType().ordinal()]) {
+                try {
+                    observer.update(order, status);
+                } catch (RuntimeException e) {
+                    lastFailure = e;
+                    failed.incrementAndGet();
+                }
+            }
+        }
+    }
+}
@@ -1,28 +1,63 @@
 package com.restaurant.observer;
 
+import com.restaurant.model.Money;
 import com.restaurant.model.Order;
 import com.restaurant.model.OrderStatus;
+import com.restaurant.output.ConsoleOutputSink;
+import com.restaurant.output.OutputSink;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * PADRÃO OBSERVER - Concrete Observer
  * 
  * Observador que representa o sistema de pagamento
  * Recebe notificações sobre pedidos entregues para processar pagamento
+ * (apenas exibe as notificações; a cobrança em si é feita pelo PaymentPipeline)
  */
 public class PaymentSystemObserver implements Observer {
-    
+    private static final Set<OrderStatus> INTERESTED =
+        Collections.unmodifiableSet(EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED));
+
+    private final OutputSink output;
+
+    public PaymentSystemObserver() {
+        this(ConsoleOutputSink.INSTANCE);
+    }
+
+    /**
+     * @param output destino das notificações (uma escrita por notificação)
+     */
+    public PaymentSystemObserver(OutputSink output) {
+        this.output = output;
+    }
+
     @Override
     public void update(Order order) {
-        if (order.getStatus() == OrderStatus.DELIVERED) {
-            System.out.println("\n[Sistema de Pagamento] Notificação recebida:");
-            System.out.println("  Pedido #" + order.getOrderId() + " foi entregue");
-            System.out.println("  💰 Processando pagamento de R$ " + 
-                             String.format("%.2f", order.getTotalPrice()));
-            System.out.println("  Cliente: " + order.getCustomerName());
-        } else if (order.getStatus() == OrderStatus.CANCELLED) {
-            System.out.println("\n[Sistema de Pagamento] Notificação recebida:");
-            System.out.println("  Pedido #" + order.getOrderId() + " foi cancelado");
-            System.out.println("  ❌ Estornando pagamento se necessário");
+        update(order, order.getStatus());
+    }
+
+    @Override
+    public void update(Order order, OrderStatus status) {
+        if (status == OrderStatus.DELIVERED) {
+            StringBuilder sb = new StringBuilder(160);
+            sb.append("\n[Sistema de Pagamento] Notificação recebida:\n");
+            sb.append("  Pedido #").append(order.getOrderId()).append(" foi entregue\n");
+            Money.appendTo(sb.append("  💰 Processando pagamento de R$ "), order.getTotalPriceCents()).append('\n');
+            sb.append("  Cliente: ").append(order.getCustomerName()).append('\n');
+            output.write(sb);
+        } else if (status == OrderStatus.CANCELLED) {
+            StringBuilder sb = new StringBuilder(128);
+            sb.append("\n[Sistema de Pagamento] Notificação recebida:\n");
+            sb.append("  Pedido #").append(order.getOrderId()).append(" foi cancelado\n");
+            sb.append("  ❌ Estornando pagamento se necessário\n");
+            output.write(sb);
         }
     }
+
+    @Override
+    public Set<OrderStatus> interestedStatuses() {
+        return INTERESTED;
+    }
 }
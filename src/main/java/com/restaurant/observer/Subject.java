@@ -1,5 +1,7 @@
 package com.restaurant.observer;
 
+import com.restaurant.model.OrderStatus;
+
 /**
  * PADRÃO OBSERVER - Interface Subject
  * 
@@ -8,6 +10,12 @@ package com.restaurant.observer;
  */
 public interface Subject {
     void attach(Observer observer);
+
+    /**
+     * Registra o observer apenas para os status informados, no lugar dos
+     * status declarados por ele
+     */
+    void attach(Observer observer, OrderStatus... statuses);
     void detach(Observer observer);
     void notifyObservers();
 }
@@ -0,0 +1,23 @@
+package com.restaurant.observer;
+
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import java.util.List;
+
+/**
+ * Entrega as notificações na própria thread que alterou o status do pedido
+ * (comportamento padrão do Subject)
+ */
+public final class SynchronousObserverDispatcher implements ObserverDispatcher {
+    public static final SynchronousObserverDispatcher INSTANCE = new SynchronousObserverDispatcher();
+
+    private SynchronousObserverDispatcher() {
+    }
+
+    @Override
+    public void dispatch(Order order, OrderStatus status, List<Observer> observers) {
+        for (Observer observer : observers) {
+            observer.update(order, status);
+        }
+    }
+}
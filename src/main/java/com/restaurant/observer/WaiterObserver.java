@@ -2,6 +2,11 @@ package com.restaurant.observer;
 
 import com.restaurant.model.Order;
 import com.restaurant.model.OrderStatus;
+import com.restaurant.output.ConsoleOutputSink;
+import com.restaurant.output.OutputSink;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 /**
  * PADRÃO OBSERVER - Concrete Observer
@@ -10,22 +15,45 @@ import com.restaurant.model.OrderStatus;
  * Recebe notificações sobre pedidos prontos para servir
  */
 public class WaiterObserver implements Observer {
+    private static final Set<OrderStatus> INTERESTED = Collections.unmodifiableSet(EnumSet.of(OrderStatus.READY));
+
     private String waiterName;
+    private final OutputSink output;
 
     public WaiterObserver(String waiterName) {
+        this(waiterName, ConsoleOutputSink.INSTANCE);
+    }
+
+    /**
+     * @param output destino das notificações (uma escrita por notificação)
+     */
+    public WaiterObserver(String waiterName, OutputSink output) {
         this.waiterName = waiterName;
+        this.output = output;
     }
 
     @Override
     public void update(Order order) {
-        if (order.getStatus() == OrderStatus.READY) {
-            System.out.println("\n[Garçom " + waiterName + "] Notificação recebida:");
-            System.out.println("  Pedido #" + order.getOrderId() + " está pronto!");
-            System.out.println("  Cliente: " + order.getCustomerName());
-            System.out.println("  🔔 Preparar para servir/entregar");
+        update(order, order.getStatus());
+    }
+
+    @Override
+    public void update(Order order, OrderStatus status) {
+        if (status == OrderStatus.READY) {
+            StringBuilder sb = new StringBuilder(128);
+            sb.append("\n[Garçom ").append(waiterName).append("] Notificação recebida:\n");
+            sb.append("  Pedido #").append(order.getOrderId()).append(" está pronto!\n");
+            sb.append("  Cliente: ").append(order.getCustomerName()).append('\n');
+            sb.append("  🔔 Preparar para servir/entregar\n");
+            output.write(sb);
         }
     }
 
+    @Override
+    public Set<OrderStatus> interestedStatuses() {
+        return INTERESTED;
+    }
+
     public String getWaiterName() {
         return waiterName;
     }
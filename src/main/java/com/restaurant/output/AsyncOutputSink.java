@@ -0,0 +1,243 @@
+package com.restaurant.output;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escreve as mensagens de forma assíncrona e em lotes em um canal NIO
+ *
+ * write() só enfileira a mensagem em uma fila lock-free e retorna, sem I/O
+ * na thread do pedido. Uma única thread consome a fila, codifica as mensagens
+ * em UTF-8 em um buffer direto e o grava no canal quando ele enche ou quando a
+ * fila esvazia, então uma rajada de mensagens vira poucas chamadas de sistema.
+ *
+ * A fila é limitada: se a escrita não acompanhar, mensagens novas são
+ * descartadas (e contadas) em vez de bloquear quem publica. Como grava direto
+ * no descritor, a ordem em relação a prints feitos em System.out não é garantida.
+ *
+ * Se o canal falhar, as mensagens do lote são contadas em getFailedWrites() e
+ * a causa fica em getLastFailure(); flush() passa a retornar false. Uma
+ * mensagem cujo write() começou antes de close() ainda é gravada; as
+ * escritas posteriores são descartadas e contadas, sem lançar exceção.
+ */
+public class AsyncOutputSink implements OutputSink, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 65_536;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SPIN_TRIES = 100;
+
+    private final WritableByteChannel channel;
+    private final int capacity;
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong reportedFailures = new AtomicLong();
+    private final AtomicInteger writing = new AtomicInteger();
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final Thread writer;
+    private volatile boolean waiting;
+    private volatile boolean closed;
+    private volatile boolean stopping;
+    private volatile IOException lastFailure;
+    private boolean batchFailed;
+
+    /**
+     * Grava no canal informado; o canal continua sendo do chamador e não é fechado no close
+     */
+    public AsyncOutputSink(WritableByteChannel channel) {
+        this(channel, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity mensagens aguardando escrita acima das quais novas mensagens são descartadas
+     */
+    public AsyncOutputSink(WritableByteChannel channel, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacidade da fila deve ser positiva");
+        }
+        this.channel = channel;
+        this.capacity = capacity;
+        this.writer = new Thread(this::run, "async-output-sink");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Grava na saída padrão do processo
+     */
+    public static AsyncOutputSink toStandardOutput() {
+        return new AsyncOutputSink(new FileOutputStream(FileDescriptor.out).getChannel());
+    }
+
+    @Override
+    public void write(CharSequence text) {
+        // Sinaliza a escrita antes de olhar closed: close() espera as que já passaram
+        writing.incrementAndGet();
+        try {
+            if (closed) {
+                dropped.incrementAndGet();
+                return;
+            }
+            if (queued.incrementAndGet() > capacity) {
+                queued.decrementAndGet();
+                dropped.incrementAndGet();
+                return;
+            }
+            accepted.incrementAndGet();
+            queue.offer(text.toString());
+        } finally {
+            writing.decrementAndGet();
+        }
+        if (waiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Mensagens descartadas porque a fila estava cheia ou a saída já estava encerrada
+     */
+    public long getDroppedMessages() {
+        return dropped.get();
+    }
+
+    /**
+     * Mensagens aceitas que não foram gravadas porque o canal falhou
+     */
+    public long getFailedWrites() {
+        return failed.get();
+    }
+
+    /**
+     * Causa da falha de escrita mais recente, ou null se nenhuma falhou
+     */
+    public IOException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Aguarda até que todas as mensagens aceitas até agora tenham sido processadas
+     *
+     * Retorna false se o prazo vencer ou se alguma escrita falhou desde a
+     * chamada anterior (ver getFailedWrites()).
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (written.get() + failed.get() < target) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            if (!writer.isAlive()) {
+                return false;
+            }
+            LockSupport.parkNanos(100_000);
+        }
+        long failures = failed.get();
+        return reportedFailures.getAndSet(failures) == failures;
+    }
+
+    /**
+     * Recusa novas mensagens, grava as pendentes e encerra a thread de escrita
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        while (writing.get() > 0) {
+            LockSupport.parkNanos(1_000);
+        }
+        stopping = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        int idle = 0;
+        long batch = 0;
+        while (true) {
+            String message = queue.poll();
+            if (message != null) {
+                queued.decrementAndGet();
+                idle = 0;
+                encode(message);
+                batch++;
+                continue;
+            }
+            // Fila vazia: grava o lote acumulado antes de esperar
+            if (batch > 0) {
+                flushBuffer();
+                if (batchFailed) {
+                    failed.addAndGet(batch);
+                    batchFailed = false;
+                } else {
+                    written.addAndGet(batch);
+                }
+                batch = 0;
+            }
+            if (stopping && queue.isEmpty()) {
+                return;
+            }
+            if (idle < SPIN_TRIES) {
+                idle++;
+                Thread.onSpinWait();
+                continue;
+            }
+            waiting = true;
+            // Confere de novo depois de sinalizar a espera, para não perder um unpark
+            if (queue.isEmpty() && !stopping) {
+                LockSupport.park(this);
+            }
+            waiting = false;
+        }
+    }
+
+    private void encode(String message) {
+        CharBuffer chars = CharBuffer.wrap(message);
+        encoder.reset();
+        while (encoder.encode(chars, buffer, true).isOverflow()) {
+            flushBuffer();
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            lastFailure = e;
+            batchFailed = true;
+        }
+        buffer.clear();
+    }
+}
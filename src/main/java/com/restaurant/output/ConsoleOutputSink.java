@@ -0,0 +1,17 @@
+package com.restaurant.output;
+
+/**
+ * Escreve as mensagens em System.out na própria thread de quem as gerou
+ * (comportamento padrão, mantém a ordem com outros prints do programa)
+ */
+public final class ConsoleOutputSink implements OutputSink {
+    public static final ConsoleOutputSink INSTANCE = new ConsoleOutputSink();
+
+    private ConsoleOutputSink() {
+    }
+
+    @Override
+    public void write(CharSequence text) {
+        System.out.print(text);
+    }
+}
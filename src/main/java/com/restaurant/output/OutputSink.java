@@ -0,0 +1,13 @@
+package com.restaurant.output;
+
+/**
+ * Destino das mensagens exibidas pelos observers, fábricas e serviços
+ *
+ * Cada chamada a write recebe uma mensagem completa (uma ou mais linhas, já
+ * com as quebras de linha), que nunca é intercalada com outras mensagens. O
+ * texto pode ser um buffer reaproveitado pelo chamador, então a implementação
+ * não deve guardar a referência depois de retornar.
+ */
+public interface OutputSink {
+    void write(CharSequence text);
+}
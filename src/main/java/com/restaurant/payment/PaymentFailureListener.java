@@ -0,0 +1,15 @@
+package com.restaurant.payment;
+
+import java.util.List;
+
+/**
+ * Recebe as requisições que o PaymentPipeline não enviou: lotes descartados
+ * depois de esgotar as tentativas e cobranças de pedidos entregues depois do close()
+ *
+ * É chamado na thread do pipeline (ou na que notificou a entrega), então deve
+ * ser rápido (ex.: enfileirar as requisições para revisão ou para uma nova
+ * submissão) e não lançar exceções.
+ */
+public interface PaymentFailureListener {
+    void onFailure(List<PaymentRequest> requests, RuntimeException cause);
+}
@@ -0,0 +1,470 @@
+package com.restaurant.payment;
+
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.observer.Observer;
+import com.restaurant.service.PricingListener;
+import com.restaurant.strategy.PricingStrategy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Etapa de pagamento: cobra os pedidos entregues
+ *
+ * Como Observer, transforma DELIVERED em uma cobrança do preço final que o
+ * OrderService calculou para o pedido (recebido como PricingListener; sem
+ * preço calculado, cobra o total dos itens). Estornos não vêm das
+ * notificações, pois um pedido entregue não é mais cancelado: são pedidos
+ * explicitamente com refund().
+ *
+ * As requisições entram em uma fila e uma única thread as envia ao
+ * PaymentProcessor em lotes: o lote é fechado quando atinge o tamanho máximo
+ * ou quando a primeira requisição dele espera o tempo máximo, o que reduz o
+ * número de chamadas ao processador.
+ *
+ * Um lote que falha é reenviado com espera exponencial (com variação
+ * aleatória) até o limite de tentativas; depois disso as requisições são
+ * descartadas, entregues ao PaymentFailureListener e podem ser submetidas de
+ * novo. Cada operação (pedido + tipo) é aceita uma única vez enquanto estiver
+ * pendente e durante a janela de deduplicação após liquidada, então
+ * notificações DELIVERED repetidas não geram uma segunda cobrança.
+ *
+ * Depois do close(), submit() e charge() lançam IllegalStateException, mas
+ * uma entrega notificada não: a mudança de status já foi efetivada, então a
+ * cobrança é contada em getRejectedRequests() e entregue ao
+ * PaymentFailureListener.
+ */
+public class PaymentPipeline implements Observer, PricingListener, AutoCloseable {
+    public static final int DEFAULT_MAX_BATCH_SIZE = 50;
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofMillis(200);
+    public static final int DEFAULT_MAX_ATTEMPTS = 5;
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(100);
+    public static final Duration DEFAULT_DEDUPE_WINDOW = Duration.ofHours(1);
+
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final Set<OrderStatus> INTERESTED =
+        Collections.unmodifiableSet(EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED));
+
+    private final PaymentProcessor processor;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final ConcurrentHashMap<Long, Accepted> accepted = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, PricedOrder> prices = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Accepted> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger submitting = new AtomicInteger();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong settled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong duplicates = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong processorCalls = new AtomicLong();
+    private final Thread worker;
+    private volatile boolean waiting;
+    private volatile boolean closed;
+    private volatile boolean stopping;
+    private volatile long dedupeWindowNanos = DEFAULT_DEDUPE_WINDOW.toNanos();
+    private volatile long prunedAt = System.nanoTime();
+    private volatile PaymentFailureListener failureListener;
+    private volatile RuntimeException lastFailure;
+
+    public PaymentPipeline(PaymentProcessor processor) {
+        this(processor, DEFAULT_MAX_BATCH_SIZE, DEFAULT_MAX_DELAY, DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF);
+    }
+
+    /**
+     * @param maxBatchSize requisições por chamada ao processador
+     * @param maxDelay tempo máximo que uma requisição espera o lote encher
+     * @param maxAttempts tentativas por lote antes de desistir
+     * @param initialBackoff espera antes da segunda tentativa (dobra a cada falha)
+     */
+    public PaymentPipeline(PaymentProcessor processor, int maxBatchSize, Duration maxDelay,
+                           int maxAttempts, Duration initialBackoff) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Tamanho máximo do lote deve ser positivo");
+        }
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("Número de tentativas deve ser positivo");
+        }
+        this.processor = processor;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = Math.max(1, initialBackoff.toNanos());
+        this.worker = new Thread(this::run, "payment-pipeline");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Tempo que uma operação liquidada continua bloqueando repetições; depois
+     * disso a chave é esquecida e refund() não encontra mais a cobrança
+     */
+    public void setDedupeWindow(Duration dedupeWindow) {
+        if (dedupeWindow.isNegative()) {
+            throw new IllegalArgumentException("Janela de deduplicação não pode ser negativa");
+        }
+        this.dedupeWindowNanos = dedupeWindow.toNanos();
+    }
+
+    /**
+     * Registra quem recebe os lotes descartados depois de esgotar as tentativas
+     * e as cobranças de notificações que chegaram depois do close()
+     */
+    public void setFailureListener(PaymentFailureListener failureListener) {
+        this.failureListener = failureListener;
+    }
+
+    @Override
+    public Set<OrderStatus> interestedStatuses() {
+        return INTERESTED;
+    }
+
+    @Override
+    public void update(Order order) {
+        update(order, order.getStatus());
+    }
+
+    @Override
+    public void update(Order order, OrderStatus status) {
+        if (status == OrderStatus.DELIVERED) {
+            // A entrega já foi efetivada: com o pipeline encerrado a cobrança é registrada, não lançada
+            submit(chargeRequest(order), false);
+        } else if (status == OrderStatus.CANCELLED) {
+            prices.remove(order.getOrderId());
+        }
+    }
+
+    /**
+     * Guarda o último preço final calculado do pedido, cobrado quando ele for entregue
+     */
+    @Override
+    public void onPriced(Order order, PricingStrategy strategy, long originalPriceCents, long finalPriceCents) {
+        long now = System.nanoTime();
+        pruneIfStale(now);
+        prices.put(order.getOrderId(), new PricedOrder(finalPriceCents, now));
+    }
+
+    /**
+     * Enfileira a cobrança do último preço calculado pelo OrderService para o
+     * pedido (ou do total dos itens, se ele não foi precificado); retorna false
+     * se ele já foi cobrado
+     */
+    public boolean charge(Order order) {
+        return submit(chargeRequest(order));
+    }
+
+    /**
+     * Enfileira a cobrança de um valor já calculado pelo chamador
+     */
+    public boolean charge(Order order, long amountCents) {
+        return submit(new PaymentRequest(order.getOrderId(), PaymentRequest.Kind.CHARGE,
+            amountCents, order.getCustomerName()));
+    }
+
+    /**
+     * Enfileira o estorno do valor cobrado do pedido (ex.: reclamação depois da
+     * entrega); retorna false se ele não foi cobrado dentro da janela de
+     * deduplicação ou já foi estornado
+     */
+    public boolean refund(Order order) {
+        Accepted charge = accepted.get(PaymentRequest.key(order.getOrderId(), PaymentRequest.Kind.CHARGE));
+        if (charge == null) {
+            return false;
+        }
+        return submit(new PaymentRequest(order.getOrderId(), PaymentRequest.Kind.REFUND,
+            charge.request.getAmountCents(), order.getCustomerName()));
+    }
+
+    /**
+     * Enfileira a requisição, a menos que a mesma operação já tenha sido aceita
+     */
+    public boolean submit(PaymentRequest request) {
+        return submit(request, true);
+    }
+
+    /**
+     * @param throwIfClosed false para notificações: a requisição recusada vai
+     *                      para getRejectedRequests() e para o listener de falhas
+     */
+    private boolean submit(PaymentRequest request, boolean throwIfClosed) {
+        // Sinaliza a submissão antes de olhar closed: close() espera as que já passaram
+        submitting.incrementAndGet();
+        try {
+            if (closed) {
+                IllegalStateException cause = new IllegalStateException("Pipeline de pagamentos encerrado");
+                if (throwIfClosed) {
+                    throw cause;
+                }
+                rejected.incrementAndGet();
+                notifyFailure(List.of(request), cause);
+                return false;
+            }
+            pruneIfStale(System.nanoTime());
+            Accepted entry = new Accepted(request);
+            if (accepted.putIfAbsent(request.key(), entry) != null) {
+                duplicates.incrementAndGet();
+                return false;
+            }
+            submitted.incrementAndGet();
+            queue.offer(entry);
+            int pending = queued.incrementAndGet();
+            // Acorda o worker ocioso na primeira requisição e o que espera o lote quando ele enche
+            if (waiting && (pending == 1 || pending >= maxBatchSize - 1)) {
+                LockSupport.unpark(worker);
+            }
+            return true;
+        } finally {
+            submitting.decrementAndGet();
+        }
+    }
+
+    public long getSettledRequests() {
+        return settled.get();
+    }
+
+    /**
+     * Requisições descartadas depois de esgotar as tentativas
+     */
+    public long getFailedRequests() {
+        return failed.get();
+    }
+
+    /**
+     * Causa da falha do último lote descartado, ou null se nenhum foi
+     */
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Requisições recusadas por repetirem uma operação já aceita
+     */
+    public long getDuplicateRequests() {
+        return duplicates.get();
+    }
+
+    /**
+     * Cobranças de pedidos entregues depois do close(), que não foram enviadas
+     */
+    public long getRejectedRequests() {
+        return rejected.get();
+    }
+
+    /**
+     * Chamadas feitas ao processador, incluindo novas tentativas
+     */
+    public long getProcessorCalls() {
+        return processorCalls.get();
+    }
+
+    public long getPendingRequests() {
+        return submitted.get() - completed.get();
+    }
+
+    /**
+     * Aguarda até que todas as requisições aceitas até agora tenham sido liquidadas ou descartadas
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long target = submitted.get();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (completed.get() < target) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (System.nanoTime() - deadline >= 0 || !worker.isAlive()) {
+                return false;
+            }
+            LockSupport.parkNanos(100_000);
+        }
+        return true;
+    }
+
+    /**
+     * Recusa novas requisições, envia as pendentes sem esperar o lote encher e encerra o worker
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        while (submitting.get() > 0) {
+            LockSupport.parkNanos(1_000);
+        }
+        stopping = true;
+        LockSupport.unpark(worker);
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<Accepted> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            Accepted first = queue.poll();
+            if (first == null) {
+                if (stopping && queue.isEmpty()) {
+                    return;
+                }
+                waiting = true;
+                // Confere de novo depois de sinalizar a espera, para não perder um unpark
+                if (queue.isEmpty() && !stopping) {
+                    LockSupport.park(this);
+                }
+                waiting = false;
+                continue;
+            }
+            queued.decrementAndGet();
+            batch.add(first);
+            awaitBatch(System.nanoTime() + maxDelayNanos);
+            Accepted next;
+            while (batch.size() < maxBatchSize && (next = queue.poll()) != null) {
+                queued.decrementAndGet();
+                batch.add(next);
+            }
+            send(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Espera o lote encher ou o prazo da primeira requisição vencer
+     */
+    private void awaitBatch(long deadline) {
+        while (queued.get() < maxBatchSize - 1 && !closed) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            waiting = true;
+            if (queued.get() < maxBatchSize - 1 && !closed) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            waiting = false;
+        }
+    }
+
+    private void send(List<Accepted> batch) {
+        List<PaymentRequest> list = new ArrayList<>(batch.size());
+        for (Accepted entry : batch) {
+            list.add(entry.request);
+        }
+        List<PaymentRequest> requests = Collections.unmodifiableList(list);
+        long backoff = initialBackoffNanos;
+        for (int attempt = 1; ; attempt++) {
+            processorCalls.incrementAndGet();
+            try {
+                processor.process(requests);
+                long now = System.nanoTime();
+                for (Accepted entry : batch) {
+                    entry.settledAt = now;
+                    entry.settled = true;
+                }
+                settled.addAndGet(requests.size());
+                completed.addAndGet(requests.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    discard(batch, requests, e);
+                    return;
+                }
+            }
+            // Variação aleatória para que várias instâncias não repitam as tentativas juntas
+            LockSupport.parkNanos(this, backoff + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+        }
+    }
+
+    /**
+     * Libera as chaves do lote para uma nova submissão e o entrega ao listener de falhas
+     */
+    private void discard(List<Accepted> batch, List<PaymentRequest> requests, RuntimeException cause) {
+        for (Accepted entry : batch) {
+            accepted.remove(entry.request.key(), entry);
+        }
+        lastFailure = cause;
+        failed.addAndGet(requests.size());
+        notifyFailure(requests, cause);
+        completed.addAndGet(requests.size());
+    }
+
+    private PaymentRequest chargeRequest(Order order) {
+        PricedOrder priced = prices.remove(order.getOrderId());
+        return new PaymentRequest(order.getOrderId(), PaymentRequest.Kind.CHARGE,
+            priced != null ? priced.finalPriceCents : order.getTotalPriceCents(), order.getCustomerName());
+    }
+
+    private void notifyFailure(List<PaymentRequest> requests, RuntimeException cause) {
+        PaymentFailureListener listener = failureListener;
+        if (listener != null) {
+            try {
+                listener.onFailure(requests, cause);
+            } catch (RuntimeException e) {
+                // Não derruba o worker nem quem notificou; a falha do listener fica junto da causa
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Esquece as operações liquidadas há mais que a janela de deduplicação e
+     * os preços de pedidos que não foram entregues nesse tempo; executado no
+     * máximo uma vez por minuto, por quem perceber primeiro
+     */
+    private void pruneIfStale(long now) {
+        if (now - prunedAt < PRUNE_INTERVAL_NANOS || !pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long window = dedupeWindowNanos;
+            accepted.values().removeIf(entry -> entry.settled && now - entry.settledAt > window);
+            prices.values().removeIf(priced -> now - priced.pricedAt > window);
+            prunedAt = now;
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    /**
+     * Operação aceita; settledAt só vale depois que settled for true
+     */
+    private static final class Accepted {
+        private final PaymentRequest request;
+        private volatile long settledAt;
+        private volatile boolean settled;
+
+        private Accepted(PaymentRequest request) {
+            this.request = request;
+        }
+    }
+
+    private static final class PricedOrder {
+        private final long finalPriceCents;
+        private final long pricedAt;
+
+        private PricedOrder(long finalPriceCents, long pricedAt) {
+            this.finalPriceCents = finalPriceCents;
+            this.pricedAt = pricedAt;
+        }
+    }
+}
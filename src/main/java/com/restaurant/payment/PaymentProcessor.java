@@ -0,0 +1,15 @@
+package com.restaurant.payment;
+
+import java.util.List;
+
+/**
+ * Processador de pagamentos externo (adquirente, gateway)
+ *
+ * Recebe um lote de requisições por chamada. Uma exceção indica que o lote
+ * inteiro deve ser tentado de novo; como parte dele pode já ter sido
+ * processada antes da falha, a implementação deve ignorar requisições cuja
+ * chave de idempotência já foi liquidada.
+ */
+public interface PaymentProcessor {
+    void process(List<PaymentRequest> batch);
+}
@@ -0,0 +1,69 @@
+package com.restaurant.payment;
+
+import com.restaurant.model.Money;
+
+/**
+ * Cobrança ou estorno de um pedido enviado ao processador de pagamentos
+ *
+ * A chave de idempotência identifica a operação (pedido + tipo): reenviar a
+ * mesma requisição, por exemplo em uma nova tentativa após uma falha de rede,
+ * não deve gerar uma segunda cobrança no processador.
+ */
+public final class PaymentRequest {
+
+    public enum Kind {
+        CHARGE,
+        REFUND
+    }
+
+    private final int orderId;
+    private final Kind kind;
+    private final long amountCents;
+    private final String customerName;
+
+    public PaymentRequest(int orderId, Kind kind, long amountCents, String customerName) {
+        if (amountCents < 0) {
+            throw new IllegalArgumentException("Valor do pagamento não pode ser negativo");
+        }
+        this.orderId = orderId;
+        this.kind = kind;
+        this.amountCents = amountCents;
+        this.customerName = customerName;
+    }
+
+    public int getOrderId() {
+        return orderId;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getIdempotencyKey() {
+        return orderId + "-" + kind;
+    }
+
+    /**
+     * Mesma chave de getIdempotencyKey(), sem criar String
+     */
+    long key() {
+        return key(orderId, kind);
+    }
+
+    static long key(int orderId, Kind kind) {
+        return ((long) orderId << 1) | kind.ordinal();
+    }
+
+    @Override
+    public String toString() {
+        return kind + " #" + orderId + " R$ " + Money.format(amountCents);
+    }
+}
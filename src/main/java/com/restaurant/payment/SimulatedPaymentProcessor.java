@@ -0,0 +1,90 @@
+package com.restaurant.payment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Processador local que simula um adquirente, para testes e demonstrações
+ *
+ * Cada chamada custa uma latência fixa e pode falhar com a probabilidade
+ * configurada: metade das falhas acontece antes de liquidar o lote e metade
+ * depois (resposta perdida), como em um timeout de rede. Requisições com
+ * chave de idempotência já liquidada são ignoradas, como faria o adquirente.
+ */
+public class SimulatedPaymentProcessor implements PaymentProcessor {
+    private final long latencyNanos;
+    private final double failureRate;
+    private final Map<String, PaymentRequest> settled = new ConcurrentHashMap<>();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong duplicatesIgnored = new AtomicLong();
+
+    public SimulatedPaymentProcessor() {
+        this(Duration.ZERO, 0);
+    }
+
+    /**
+     * @param latency tempo de cada chamada, independente do tamanho do lote
+     * @param failureRate probabilidade (0 a 1) de uma chamada falhar
+     */
+    public SimulatedPaymentProcessor(Duration latency, double failureRate) {
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("Taxa de falha deve estar entre 0 e 1");
+        }
+        this.latencyNanos = latency.toNanos();
+        this.failureRate = failureRate;
+    }
+
+    @Override
+    public void process(List<PaymentRequest> batch) {
+        calls.incrementAndGet();
+        if (latencyNanos > 0) {
+            try {
+                Thread.sleep(latencyNanos / 1_000_000, (int) (latencyNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Processamento interrompido", e);
+            }
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        boolean fails = failureRate > 0 && random.nextDouble() < failureRate;
+        if (fails && random.nextBoolean()) {
+            throw new IllegalStateException("Falha de comunicação com o processador");
+        }
+        for (PaymentRequest request : batch) {
+            if (settled.putIfAbsent(request.getIdempotencyKey(), request) != null) {
+                duplicatesIgnored.incrementAndGet();
+            }
+        }
+        if (fails) {
+            throw new IllegalStateException("Tempo esgotado aguardando a resposta do processador");
+        }
+    }
+
+    public long getCalls() {
+        return calls.get();
+    }
+
+    public int getSettledCount() {
+        return settled.size();
+    }
+
+    /**
+     * Requisições reenviadas que já tinham sido liquidadas
+     */
+    public long getDuplicatesIgnored() {
+        return duplicatesIgnored.get();
+    }
+
+    /**
+     * Valor efetivamente cobrado do pedido, já descontado o estorno
+     */
+    public long getNetChargedCents(int orderId) {
+        PaymentRequest charge = settled.get(orderId + "-" + PaymentRequest.Kind.CHARGE);
+        PaymentRequest refund = settled.get(orderId + "-" + PaymentRequest.Kind.REFUND);
+        return (charge == null ? 0 : charge.getAmountCents()) - (refund == null ? 0 : refund.getAmountCents());
+    }
+}
@@ -0,0 +1,599 @@
+package com.restaurant.persistence;
+
+import com.restaurant.codec.MenuItemCodec;
+import com.restaurant.codec.OrderCodec;
+import com.restaurant.model.MenuItem;
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderLifecycleListener;
+import com.restaurant.model.OrderStatus;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Journal append-only dos eventos de ciclo de vida dos pedidos
+ *
+ * Cada evento (criação, item adicionado/removido, mudança de status) vira um
+ * registro binário [tamanho][tipo][payload][crc32] escrito em um arquivo
+ * mapeado em memória. Escrever é só uma cópia para a memória mapeada; uma
+ * thread separada faz o force() periodicamente (group commit), de modo que
+ * vários eventos compartilham a mesma ida ao disco. Quem precisa de
+ * durabilidade imediata chama sync().
+ *
+ * Como a escrita vai direto para o page cache, uma queda do processo não perde
+ * eventos; o intervalo de group commit só vale para quedas do sistema.
+ *
+ * Na abertura os registros são relidos para reconstruir os pedidos; a leitura
+ * para no primeiro registro incompleto ou com crc inválido (escrita
+ * interrompida) e o arquivo é truncado nesse ponto. Pedidos que já chegaram a
+ * um status final (entregues ou cancelados) não são reconstruídos, e
+ * compact() reescreve o arquivo só com os pedidos ainda em andamento.
+ *
+ * Os eventos chegam depois que o pedido já mudou, então uma falha ao registrar
+ * (journal fechado, disco cheio) não é lançada para quem mudou o pedido: o
+ * evento é descartado e a falha fica em getLastFailure().
+ */
+public class OrderJournal implements OrderLifecycleListener, AutoCloseable {
+    public static final long DEFAULT_FLUSH_INTERVAL_MILLIS = 2;
+
+    static final byte CREATED = 1;
+    static final byte ITEM_ADDED = 2;
+    static final byte ITEM_REMOVED = 3;
+    static final byte STATUS_CHANGED = 4;
+
+    private static final int MAGIC = 0x4F524A4C; // "ORJL"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 8;
+    private static final int REGION_SIZE = 16 * 1024 * 1024;
+    private static final int MAX_PAYLOAD_SIZE = 1024 * 1024;
+    // tamanho + tipo + crc
+    private static final int RECORD_OVERHEAD = 4 + 1 + 4;
+    private static final int MAX_DECODED_ITEMS = 4096;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final Path path;
+    private final long flushIntervalMillis;
+    private final List<Order> recoveredOrders;
+    private final Thread flusher;
+
+    private FileChannel channel;
+    private MappedByteBuffer region;
+    private int regionOffset;
+    // Posições são lógicas: a posição no arquivo é a posição menos positionBase
+    private long positionBase;
+    private long appendedPosition;
+    private long committedPosition;
+    private boolean syncRequested;
+    private boolean closed;
+    private IOException flushFailure;
+    private long failedEvents;
+    private RuntimeException lastFailure;
+
+    private OrderJournal(Path path, FileChannel channel, long flushIntervalMillis) throws IOException {
+        this.path = path;
+        this.channel = channel;
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        long end;
+        if (channel.size() < HEADER_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            channel.truncate(0);
+            channel.write(header, 0);
+            this.recoveredOrders = new ArrayList<>();
+            end = HEADER_SIZE;
+        } else {
+            checkHeader();
+            Recovery recovery = new Recovery();
+            end = recovery.run();
+            this.recoveredOrders = new ArrayList<>(recovery.orders.values());
+            // Descarta o registro interrompido (se houver) para que a cauda volte a ser zerada
+            channel.truncate(end);
+        }
+        this.region = channel.map(FileChannel.MapMode.READ_WRITE, end, REGION_SIZE);
+        this.appendedPosition = end;
+        this.committedPosition = end;
+
+        for (Order order : recoveredOrders) {
+            order.setLifecycleListener(this);
+        }
+        this.flusher = new Thread(this::flushLoop, "order-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public static OrderJournal open(Path path) throws IOException {
+        return open(path, DEFAULT_FLUSH_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Abre (ou cria) o journal e reconstrói os pedidos registrados nele
+     */
+    public static OrderJournal open(Path path, long flushIntervalMillis) throws IOException {
+        if (flushIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Intervalo de group commit deve ser positivo");
+        }
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new OrderJournal(path, channel, flushIntervalMillis);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Pedidos reconstruídos na abertura, na ordem de criação, já com este
+     * journal como listener (os observers devem ser registrados novamente)
+     */
+    public List<Order> getRecoveredOrders() {
+        return new ArrayList<>(recoveredOrders);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void onCreated(Order order) {
+        try {
+            Scratch scratch = SCRATCH.get();
+            encodeCreated(order, scratch);
+            append(scratch, CREATED);
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    @Override
+    public void onItemAdded(Order order, MenuItem item) {
+        appendItem(ITEM_ADDED, order, item);
+    }
+
+    @Override
+    public void onItemRemoved(Order order, MenuItem item) {
+        appendItem(ITEM_REMOVED, order, item);
+    }
+
+    @Override
+    public void onStatusChanged(Order order, OrderStatus newStatus) {
+        try {
+            Scratch scratch = SCRATCH.get();
+            ByteBuffer buffer = scratch.begin();
+            buffer.putInt(order.getOrderId());
+            buffer.put(OrderCodec.statusCode(newStatus));
+            append(scratch, STATUS_CHANGED);
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    /**
+     * Eventos que não puderam ser registrados
+     */
+    public synchronized long getFailedEvents() {
+        return failedEvents;
+    }
+
+    /**
+     * Causa da falha de registro mais recente, ou null se nenhum evento falhou
+     */
+    public synchronized RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    /**
+     * Reescreve o journal só com os pedidos em andamento (um registro de
+     * criação com o status atual e um por item) e troca o arquivo de forma
+     * atômica; retorna quantos bytes foram liberados
+     *
+     * O estado gravado é o que os próprios registros descrevem, então eventos
+     * em trânsito enquanto a compactação roda entram no arquivo novo depois
+     * dela. Os novos eventos esperam a compactação terminar.
+     */
+    public synchronized long compact() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Journal de pedidos fechado");
+        }
+        if (flushFailure != null) {
+            throw flushFailure;
+        }
+        long oldSize = appendedPosition - positionBase;
+        Recovery recovery = new Recovery();
+        recovery.run();
+
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        long end;
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            writeFully(out, header);
+            Scratch scratch = SCRATCH.get();
+            for (Order order : recovery.orders.values()) {
+                encodeCreated(order, scratch);
+                writeFully(out, scratch.finish(CREATED));
+                for (MenuItem item : order.getItems()) {
+                    encodeItem(order, item, scratch);
+                    writeFully(out, scratch.finish(ITEM_ADDED));
+                }
+            }
+            end = out.position();
+            out.force(true);
+        }
+        // O arquivo atual vai inteiro para o disco antes da troca, para que
+        // nenhum evento já confirmado dependa do arquivo descartado
+        region.force();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel.close();
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        region = channel.map(FileChannel.MapMode.READ_WRITE, end, REGION_SIZE);
+        regionOffset = 0;
+        positionBase = appendedPosition - end;
+        committedPosition = appendedPosition;
+        notifyAll();
+        return oldSize - end;
+    }
+
+    /**
+     * Aguarda até que todos os eventos registrados até agora estejam no disco
+     */
+    public void sync() throws IOException {
+        try {
+            awaitCommit(getAppendedPosition(), Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrompido aguardando o journal", e);
+        }
+    }
+
+    /**
+     * Aguarda até que o journal esteja no disco até a posição informada
+     */
+    public synchronized boolean awaitCommit(long position, long timeout, TimeUnit unit)
+            throws IOException, InterruptedException {
+        long timeoutNanos = unit.toNanos(timeout);
+        long start = System.nanoTime();
+        while (committedPosition < position) {
+            if (flushFailure != null) {
+                throw flushFailure;
+            }
+            if (closed) {
+                throw new IllegalStateException("Journal de pedidos fechado");
+            }
+            long remaining = timeoutNanos - (System.nanoTime() - start);
+            if (remaining <= 0) {
+                return false;
+            }
+            syncRequested = true;
+            notifyAll();
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Posição (em bytes) logo após o último evento registrado; é lógica e não
+     * diminui quando o journal é compactado
+     */
+    public synchronized long getAppendedPosition() {
+        return appendedPosition;
+    }
+
+    /**
+     * Posição até a qual os eventos já foram gravados em disco
+     */
+    public synchronized long getCommittedPosition() {
+        return committedPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            region.force();
+            committedPosition = appendedPosition;
+            notifyAll();
+        }
+        channel.close();
+    }
+
+    private void appendItem(byte type, Order order, MenuItem item) {
+        try {
+            Scratch scratch = SCRATCH.get();
+            encodeItem(order, item, scratch);
+            append(scratch, type);
+        } catch (RuntimeException e) {
+            failed(e);
+        }
+    }
+
+    private static void encodeCreated(Order order, Scratch scratch) {
+        while (true) {
+            ByteBuffer buffer = scratch.begin();
+            try {
+                OrderCodec.encodeHeader(order, order.getStatus(), buffer);
+                return;
+            } catch (BufferOverflowException e) {
+                scratch.grow();
+            }
+        }
+    }
+
+    private static void encodeItem(Order order, MenuItem item, Scratch scratch) {
+        while (true) {
+            ByteBuffer buffer = scratch.begin();
+            try {
+                buffer.putInt(order.getOrderId());
+                MenuItemCodec.encode(item, buffer);
+                return;
+            } catch (BufferOverflowException e) {
+                scratch.grow();
+            }
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private synchronized void failed(RuntimeException e) {
+        failedEvents++;
+        lastFailure = e;
+    }
+
+    private void append(Scratch scratch, byte type) {
+        ByteBuffer record = scratch.finish(type);
+        int size = record.remaining();
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("Journal de pedidos fechado");
+            }
+            if (regionOffset + size > region.capacity()) {
+                nextRegion();
+            }
+            region.position(regionOffset);
+            region.put(record);
+            regionOffset += size;
+            appendedPosition += size;
+        }
+    }
+
+    private void nextRegion() {
+        try {
+            // A região anterior vai para o disco antes de ser descartada
+            region.force();
+            region = channel.map(FileChannel.MapMode.READ_WRITE, appendedPosition - positionBase, REGION_SIZE);
+            regionOffset = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao estender o journal de pedidos", e);
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer toForce;
+            long target;
+            synchronized (this) {
+                if (!closed && !syncRequested) {
+                    try {
+                        wait(flushIntervalMillis);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+                syncRequested = false;
+                if (appendedPosition == committedPosition) {
+                    continue;
+                }
+                toForce = region;
+                target = appendedPosition;
+            }
+            try {
+                toForce.force();
+            } catch (UncheckedIOException e) {
+                synchronized (this) {
+                    flushFailure = e.getCause();
+                    notifyAll();
+                }
+                return;
+            }
+            synchronized (this) {
+                committedPosition = Math.max(committedPosition, target);
+                notifyAll();
+            }
+        }
+    }
+
+    private void checkHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Arquivo não é um journal de pedidos: " + path);
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Versão de journal não suportada: " + version);
+        }
+    }
+
+    /**
+     * Buffer de serialização reaproveitado por thread
+     */
+    private static final class Scratch {
+        private final CRC32 crc = new CRC32();
+        private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+        ByteBuffer begin() {
+            buffer.clear();
+            // Reserva tamanho e tipo no início e o crc no fim
+            buffer.position(5).limit(buffer.capacity() - 4);
+            return buffer;
+        }
+
+        void grow() {
+            if (buffer.capacity() >= MAX_PAYLOAD_SIZE + RECORD_OVERHEAD) {
+                throw new IllegalArgumentException("Evento grande demais para o journal de pedidos");
+            }
+            buffer = ByteBuffer.allocate(Math.min(buffer.capacity() * 2, MAX_PAYLOAD_SIZE + RECORD_OVERHEAD));
+        }
+
+        ByteBuffer finish(byte type) {
+            buffer.limit(buffer.capacity());
+            int payloadLength = buffer.position() - 5;
+            buffer.putInt(0, payloadLength);
+            buffer.put(4, type);
+            crc.reset();
+            crc.update(buffer.array(), 4, payloadLength + 1);
+            buffer.putInt((int) crc.getValue());
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * Releitura dos registros na abertura do journal
+     */
+    private final class Recovery {
+        private final Map<Integer, Order> orders = new LinkedHashMap<>();
+        // Itens iguais (mesmos bytes) são decodificados uma vez e compartilhados entre os pedidos
+        private final Map<ByteBuffer, MenuItem> decodedItems = new HashMap<>();
+
+        long run() throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate(2 * (MAX_PAYLOAD_SIZE + RECORD_OVERHEAD));
+            buffer.flip();
+            CRC32 crc = new CRC32();
+            long position = HEADER_SIZE;
+            boolean endOfFile = false;
+            while (true) {
+                if (!endOfFile && buffer.remaining() < MAX_PAYLOAD_SIZE + RECORD_OVERHEAD) {
+                    buffer.compact();
+                    int read;
+                    do {
+                        read = channel.read(buffer, position + buffer.position());
+                    } while (read > 0 && buffer.hasRemaining());
+                    endOfFile = read < 0;
+                    buffer.flip();
+                }
+                if (buffer.remaining() < RECORD_OVERHEAD) {
+                    return position;
+                }
+                int start = buffer.position();
+                int length = buffer.getInt(start);
+                if (length <= 0 || length > MAX_PAYLOAD_SIZE || buffer.remaining() < length + RECORD_OVERHEAD) {
+                    return position;
+                }
+                crc.reset();
+                crc.update(buffer.array(), start + 4, length + 1);
+                if ((int) crc.getValue() != buffer.getInt(start + 5 + length)) {
+                    return position;
+                }
+                ByteBuffer payload = buffer.duplicate();
+                payload.limit(start + 5 + length).position(start + 5);
+                apply(buffer.get(start + 4), payload.slice());
+                buffer.position(start + length + RECORD_OVERHEAD);
+                position += length + RECORD_OVERHEAD;
+            }
+        }
+
+        private void apply(byte type, ByteBuffer payload) throws IOException {
+            if (type == CREATED) {
+                Order created = OrderCodec.decodeHeader(payload);
+                if (!created.getStatus().isFinal()) {
+                    orders.put(created.getOrderId(), created);
+                }
+                return;
+            }
+            if (type != ITEM_ADDED && type != ITEM_REMOVED && type != STATUS_CHANGED) {
+                throw new IOException("Evento desconhecido no journal de pedidos: " + type);
+            }
+            Order order = orders.get(payload.getInt());
+            if (order == null) {
+                return;
+            }
+            if (type == ITEM_ADDED) {
+                order.addItem(decodeItem(payload));
+            } else if (type == ITEM_REMOVED) {
+                removeItem(order, payload);
+            } else {
+                // Mudanças concorrentes podem ter sido gravadas fora de ordem: só avança o status
+                OrderStatus status = OrderCodec.statusOf(payload.get());
+                if (status.isFinal()) {
+                    // Pedido encerrado: os eventos seguintes dele também são ignorados
+                    orders.remove(order.getOrderId());
+                } else if (order.getStatus().canReach(status)) {
+                    order.restore(status, order.getOrderTime());
+                }
+            }
+        }
+
+        private MenuItem decodeItem(ByteBuffer payload) {
+            MenuItem item = decodedItems.get(payload);
+            if (item == null) {
+                ByteBuffer key = ByteBuffer.allocate(payload.remaining());
+                key.put(payload.duplicate()).flip();
+                item = MenuItemCodec.decode(payload);
+                if (decodedItems.size() < MAX_DECODED_ITEMS) {
+                    decodedItems.put(key, item);
+                }
+            }
+            return item;
+        }
+
+        private void removeItem(Order order, ByteBuffer payload) {
+            MenuItem shared = decodedItems.get(payload);
+            if (shared != null && order.getItems().contains(shared)) {
+                order.removeItem(shared);
+                return;
+            }
+            // Item fora do cache: compara a codificação de cada item do pedido
+            ByteBuffer encoded = ByteBuffer.allocate(payload.remaining());
+            for (MenuItem item : order.getItems()) {
+                encoded.clear();
+                try {
+                    MenuItemCodec.encode(item, encoded);
+                } catch (BufferOverflowException e) {
+                    continue;
+                }
+                encoded.flip();
+                if (encoded.equals(payload)) {
+                    order.removeItem(item);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.restaurant.persistence;
+
+import com.restaurant.codec.MenuItemCodec;
+import com.restaurant.codec.OrderCodec;
+import com.restaurant.codec.VarInts;
+import com.restaurant.model.MenuItem;
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.repository.OrderRepository;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshots periódicos dos pedidos ativos para um reinício rápido
+ *
+ * O snapshot percorre o OrderRepository sem travá-lo: cada pedido é copiado
+ * individualmente (status e lista de itens), então novos pedidos e mudanças de
+ * status continuam sendo aceitos durante a captura; o que mudar depois da
+ * cópia de um pedido entra no próximo snapshot. Pedidos já entregues ou
+ * cancelados não são gravados, e cada orderId aparece no máximo uma vez.
+ *
+ * O arquivo guarda um dicionário com cada item distinto uma única vez e os
+ * pedidos referenciam os itens pelo índice, o que o mantém pequeno e faz a
+ * restauração decodificar cada item só uma vez. É gravado em um arquivo
+ * temporário e movido atomicamente por cima do anterior.
+ */
+public class OrderSnapshotter implements AutoCloseable {
+    private static final int MAGIC = 0x4F52534E; // "ORSN"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final OrderRepository repository;
+    private final Path snapshotFile;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> task;
+    private volatile int lastSnapshotSize;
+    private volatile long failedSnapshots;
+    private volatile Exception lastFailure;
+
+    public OrderSnapshotter(OrderRepository repository, Path snapshotFile) {
+        this.repository = repository;
+        this.snapshotFile = snapshotFile;
+    }
+
+    /**
+     * Grava um snapshot a cada período, em uma thread própria
+     */
+    public synchronized void start(long period, TimeUnit unit) {
+        if (task != null) {
+            throw new IllegalStateException("Snapshots periódicos já iniciados");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        task = scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                snapshotNow();
+            } catch (IOException | RuntimeException e) {
+                // Só a thread do agendador escreve nestes campos
+                failedSnapshots++;
+                lastFailure = e;
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Grava um snapshot imediatamente e retorna a quantidade de pedidos gravados
+     */
+    public int snapshotNow() throws IOException {
+        Encoder encoder = new Encoder();
+        Set<Integer> written = new HashSet<>();
+        for (Order order : repository.findAll()) {
+            if (!written.contains(order.getOrderId()) && encoder.writeOrder(order)) {
+                written.add(order.getOrderId());
+            }
+        }
+        int orderCount = written.size();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis())
+            .putInt(encoder.itemCount).putInt(orderCount);
+        header.flip();
+        ByteBuffer dictionary = encoder.dictionary.flip();
+        ByteBuffer records = encoder.orders.flip();
+        CRC32 crc = new CRC32();
+        crc.update(header.duplicate());
+        crc.update(dictionary.duplicate());
+        crc.update(records.duplicate());
+        ByteBuffer trailer = ByteBuffer.allocate(4).putInt((int) crc.getValue()).flip();
+
+        synchronized (this) {
+            Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer[] buffers = {header, dictionary, records, trailer};
+                while (trailer.hasRemaining()) {
+                    channel.write(buffers);
+                }
+                channel.force(false);
+            }
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        lastSnapshotSize = orderCount;
+        return orderCount;
+    }
+
+    /**
+     * Quantidade de pedidos no último snapshot gravado
+     */
+    public int getLastSnapshotSize() {
+        return lastSnapshotSize;
+    }
+
+    /**
+     * Snapshots periódicos que falharam
+     */
+    public long getFailedSnapshots() {
+        return failedSnapshots;
+    }
+
+    /**
+     * Causa da falha mais recente de um snapshot periódico, ou null se nenhum falhou
+     */
+    public Exception getLastFailure() {
+        return lastFailure;
+    }
+
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * Recria os pedidos do snapshot (lista vazia se o arquivo não existir);
+     * os observers e o listener de ciclo de vida devem ser registrados novamente
+     */
+    public static List<Order> restore(Path snapshotFile) throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return new ArrayList<>();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshotFile));
+        if (buffer.remaining() < HEADER_SIZE + 4 || buffer.getInt() != MAGIC) {
+            throw new IOException("Arquivo não é um snapshot de pedidos: " + snapshotFile);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Versão de snapshot não suportada: " + version);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.limit() - 4);
+        if ((int) crc.getValue() != buffer.getInt(buffer.limit() - 4)) {
+            throw new IOException("Snapshot de pedidos corrompido: " + snapshotFile);
+        }
+        buffer.getLong();
+        MenuItem[] items = new MenuItem[buffer.getInt()];
+        int orderCount = buffer.getInt();
+        for (int i = 0; i < items.length; i++) {
+            int length = buffer.getInt();
+            int end = buffer.position() + length;
+            items[i] = MenuItemCodec.decode(buffer);
+            buffer.position(end);
+        }
+        List<Order> orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            Order order = OrderCodec.decodeHeader(buffer);
+            int itemCount = VarInts.readUnsignedInt(buffer);
+            for (int j = 0; j < itemCount; j++) {
+                order.addItem(items[VarInts.readUnsignedInt(buffer)]);
+            }
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    /**
+     * Interrompe os snapshots periódicos (um snapshot em andamento é concluído)
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            scheduler = null;
+            task = null;
+        }
+    }
+
+    /**
+     * Monta o dicionário de itens e os registros dos pedidos em buffers que crescem sob demanda
+     */
+    private static final class Encoder {
+        private final Map<MenuItem, Integer> indexByInstance = new IdentityHashMap<>();
+        private final Map<ByteBuffer, Integer> indexByBytes = new HashMap<>();
+        private ByteBuffer dictionary = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        private ByteBuffer orders = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        private ByteBuffer scratch = ByteBuffer.allocate(256);
+        private int itemCount;
+
+        /**
+         * Grava o pedido, a menos que ele já esteja em um status final
+         */
+        boolean writeOrder(Order order) {
+            // Status e itens lidos uma vez, antes de escrever, para o registro ficar coerente
+            OrderStatus status = order.getStatus();
+            if (status.isFinal()) {
+                return false;
+            }
+            List<MenuItem> items = order.getItems();
+            int[] indexes = new int[items.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = indexOf(items.get(i));
+            }
+            int start = orders.position();
+            while (true) {
+                try {
+                    OrderCodec.encodeHeader(order, status, orders);
+                    VarInts.writeUnsignedInt(orders, indexes.length);
+                    for (int index : indexes) {
+                        VarInts.writeUnsignedInt(orders, index);
+                    }
+                    return true;
+                } catch (BufferOverflowException e) {
+                    orders = grow(orders, start);
+                }
+            }
+        }
+
+        private int indexOf(MenuItem item) {
+            Integer index = indexByInstance.get(item);
+            if (index != null) {
+                return index;
+            }
+            while (true) {
+                scratch.clear();
+                try {
+                    MenuItemCodec.encode(item, scratch);
+                    break;
+                } catch (BufferOverflowException e) {
+                    scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+                }
+            }
+            scratch.flip();
+            index = indexByBytes.get(scratch);
+            if (index == null) {
+                index = itemCount++;
+                ByteBuffer key = ByteBuffer.allocate(scratch.remaining()).put(scratch.duplicate()).flip();
+                indexByBytes.put(key, index);
+                int start = dictionary.position();
+                while (true) {
+                    try {
+                        dictionary.putInt(key.remaining()).put(key.duplicate());
+                        break;
+                    } catch (BufferOverflowException e) {
+                        dictionary = grow(dictionary, start);
+                    }
+                }
+            }
+            indexByInstance.put(item, index);
+            return index;
+        }
+
+        private static ByteBuffer grow(ByteBuffer buffer, int keep) {
+            ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+            grown.put(buffer.array(), 0, keep);
+            return grown;
+        }
+    }
+}
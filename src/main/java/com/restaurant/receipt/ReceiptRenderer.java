@@ -0,0 +1,157 @@
+package com.restaurant.receipt;
+
+import com.restaurant.model.DeliveryOrder;
+import com.restaurant.model.MenuItem;
+import com.restaurant.model.Money;
+import com.restaurant.model.Order;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Renderiza recibos, comandas da cozinha e resumos de preço direto em um
+ * StringBuilder fornecido pelo chamador
+ *
+ * O mesmo buffer pode ser reaproveitado entre impressões (setLength(0)) e nada
+ * é formatado em Strings intermediárias: valores e datas são escritos dígito a
+ * dígito no buffer. buffer() devolve um StringBuilder reaproveitado por thread
+ * para quem não mantém o seu.
+ */
+public final class ReceiptRenderer {
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    // Buffers que cresceram além disso (pedido enorme) não ficam presos na thread
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER =
+        ThreadLocal.withInitial(() -> new StringBuilder(INITIAL_BUFFER_SIZE));
+
+    private ReceiptRenderer() {
+    }
+
+    /**
+     * StringBuilder vazio reaproveitado pela thread atual; o conteúdo é
+     * descartado na próxima chamada, então não deve ser guardado
+     */
+    public static StringBuilder buffer() {
+        StringBuilder sb = BUFFER.get();
+        if (sb.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            sb = new StringBuilder(INITIAL_BUFFER_SIZE);
+            BUFFER.set(sb);
+        }
+        sb.setLength(0);
+        return sb;
+    }
+
+    /**
+     * Recibo do cliente: dados do pedido, itens com preço, subtotal, taxa de entrega e total
+     */
+    public static StringBuilder appendReceipt(Order order, StringBuilder sb) {
+        sb.append("=== Pedido #").append(order.getOrderId()).append(" ===\n");
+        if (order instanceof DeliveryOrder) {
+            sb.append("Endereço: ").append(((DeliveryOrder) order).getDeliveryAddress()).append('\n');
+        }
+        sb.append("Tipo: ").append(order.getOrderType().getDescription()).append('\n');
+        sb.append("Cliente: ").append(order.getCustomerName()).append('\n');
+        sb.append("Status: ").append(order.getStatus().getDescription()).append('\n');
+        appendDateTime(sb.append("Horário: "), order.getOrderTime()).append('\n');
+        sb.append("\nItens:\n");
+        List<MenuItem> items = order.getItems();
+        long subtotal = 0;
+        for (int i = 0; i < items.size(); i++) {
+            MenuItem item = items.get(i);
+            long price = item.getPriceCents();
+            subtotal += price;
+            item.appendName(sb.append("  - ")).append(" (R$ ");
+            Money.appendTo(sb, price).append(")\n");
+        }
+        Money.appendTo(sb.append("\nSubtotal: R$ "), subtotal).append('\n');
+        long deliveryFee = order.calculateDeliveryFeeCents();
+        if (deliveryFee > 0) {
+            Money.appendTo(sb.append("Taxa de entrega: R$ "), deliveryFee).append('\n');
+        }
+        return Money.appendTo(sb.append("Total: R$ "), subtotal + deliveryFee).append('\n');
+    }
+
+    /**
+     * Comanda da cozinha: número, tipo, horário e itens, sem preços
+     */
+    public static StringBuilder appendKitchenTicket(Order order, StringBuilder sb) {
+        sb.append("=== Comanda #").append(order.getOrderId()).append(" - ")
+            .append(order.getOrderType().getDescription()).append(" ===\n");
+        appendTime(sb.append("Horário: "), order.getOrderTime()).append('\n');
+        List<MenuItem> items = order.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).appendName(sb.append("  [ ] ")).append('\n');
+        }
+        return sb;
+    }
+
+    /**
+     * Recibo seguido do preço final com a estratégia aplicada (o resumo de
+     * OrderService.displayOrderSummary)
+     */
+    public static StringBuilder appendSummary(Order order, String strategyName, long originalPriceCents,
+                                              long finalPriceCents, StringBuilder sb) {
+        appendReceipt(order, sb).append('\n');
+        if (finalPriceCents != originalPriceCents) {
+            sb.append("Estratégia de Preço: ").append(strategyName).append('\n');
+            Money.appendTo(sb.append("Desconto aplicado: R$ "), originalPriceCents - finalPriceCents).append('\n');
+            Money.appendTo(sb.append("PREÇO FINAL: R$ "), finalPriceCents).append('\n');
+        }
+        return sb.append("=====================================\n\n");
+    }
+
+    /**
+     * Data e hora no mesmo formato de LocalDateTime.toString (ISO-8601, segundos
+     * e frações só quando diferentes de zero)
+     */
+    public static StringBuilder appendDateTime(StringBuilder sb, LocalDateTime dateTime) {
+        int year = dateTime.getYear();
+        if (year < 0 || year > 9999) {
+            // Fora do intervalo de 4 dígitos: raro o bastante para usar o formato padrão
+            return sb.append(dateTime);
+        }
+        appendDigits(sb, year, 4).append('-');
+        appendDigits(sb, dateTime.getMonthValue(), 2).append('-');
+        appendDigits(sb, dateTime.getDayOfMonth(), 2).append('T');
+        appendDigits(sb, dateTime.getHour(), 2).append(':');
+        appendDigits(sb, dateTime.getMinute(), 2);
+        int second = dateTime.getSecond();
+        int nano = dateTime.getNano();
+        if (second > 0 || nano > 0) {
+            appendDigits(sb.append(':'), second, 2);
+            if (nano > 0) {
+                sb.append('.');
+                if (nano % 1_000_000 == 0) {
+                    appendDigits(sb, nano / 1_000_000, 3);
+                } else if (nano % 1_000 == 0) {
+                    appendDigits(sb, nano / 1_000, 6);
+                } else {
+                    appendDigits(sb, nano, 9);
+                }
+            }
+        }
+        return sb;
+    }
+
+    /**
+     * Hora no formato HH:mm
+     */
+    public static StringBuilder appendTime(StringBuilder sb, LocalDateTime dateTime) {
+        appendDigits(sb, dateTime.getHour(), 2).append(':');
+        return appendDigits(sb, dateTime.getMinute(), 2);
+    }
+
+    private static StringBuilder appendDigits(StringBuilder sb, int value, int width) {
+        for (int divisor = pow10(width - 1); divisor > 0; divisor /= 10) {
+            sb.append((char) ('0' + value / divisor % 10));
+        }
+        return sb;
+    }
+
+    private static int pow10(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,282 @@
+package com.restaurant.repository;
+
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderStatus;
+import com.restaurant.model.OrderType;
+import com.restaurant.observer.Observer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Registro em memória dos pedidos ativos do restaurante
+ *
+ * Os pedidos ficam distribuídos em shards pelo orderId, cada um com seu próprio
+ * lock, para que escritas em pedidos diferentes não disputem o mesmo lock.
+ * Índices secundários por status, tipo e cliente permitem consultas como
+ * "todos os deliveries em preparação" proporcionais ao tamanho do resultado.
+ *
+ * O repositório se registra como observer de cada pedido salvo para manter o
+ * índice de status atualizado. Os índices só mudam sob o lock de escrita do
+ * shard do pedido, então consultas que cruzam status (findByType, findAll)
+ * leem os índices segurando os locks de leitura de todos os shards, para que
+ * um pedido mudando de status durante a consulta apareça exatamente uma vez.
+ */
+public class OrderRepository implements Observer {
+    private static final int DEFAULT_SHARD_COUNT = 64;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final OrderType[] TYPES = OrderType.values();
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final List<List<Set<Order>>> byStatusAndType;
+    private final ConcurrentHashMap<String, Set<Order>> byCustomer = new ConcurrentHashMap<>();
+
+    public OrderRepository() {
+        this(DEFAULT_SHARD_COUNT);
+    }
+
+    public OrderRepository(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Quantidade de shards deve ser positiva");
+        }
+        int size = shardCount == 1 ? 1 : Integer.highestOneBit(shardCount - 1) << 1;
+        this.shards = new Shard[size];
+        for (int i = 0; i < size; i++) {
+            shards[i] = new Shard();
+        }
+        this.shardMask = size - 1;
+        this.byStatusAndType = new ArrayList<>(STATUSES.length);
+        for (int status = 0; status < STATUSES.length; status++) {
+            List<Set<Order>> byType = new ArrayList<>(TYPES.length);
+            for (int type = 0; type < TYPES.length; type++) {
+                byType.add(ConcurrentHashMap.newKeySet());
+            }
+            byStatusAndType.add(byType);
+        }
+    }
+
+    /**
+     * Registra (ou substitui) um pedido ativo
+     */
+    public void save(Order order) {
+        Shard shard = shardFor(order.getOrderId());
+        Entry previous;
+        shard.lock.writeLock().lock();
+        try {
+            previous = shard.orders.put(order.getOrderId(), new Entry(order, order.getStatus()));
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(order, order.getStatus());
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+        if (previous == null || previous.order != order) {
+            if (previous != null) {
+                previous.order.detach(this);
+            }
+            order.attach(this);
+            // Uma mudança de status entre o put e o attach não foi notificada: reindexa pelo status atual
+            update(order);
+        }
+    }
+
+    /**
+     * Remove um pedido do registro (ex.: após entregue e pago)
+     */
+    public Optional<Order> remove(int orderId) {
+        Shard shard = shardFor(orderId);
+        Entry removed;
+        shard.lock.writeLock().lock();
+        try {
+            removed = shard.orders.remove(orderId);
+            if (removed != null) {
+                unindex(removed);
+            }
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+        if (removed == null) {
+            return Optional.empty();
+        }
+        removed.order.detach(this);
+        return Optional.of(removed.order);
+    }
+
+    public Optional<Order> findById(int orderId) {
+        Shard shard = shardFor(orderId);
+        shard.lock.readLock().lock();
+        try {
+            Entry entry = shard.orders.get(orderId);
+            return entry == null ? Optional.empty() : Optional.of(entry.order);
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+
+    public List<Order> findByStatusAndType(OrderStatus status, OrderType type) {
+        return new ArrayList<>(indexFor(status, type));
+    }
+
+    /**
+     * Cada pedido está em um único conjunto do status (o do seu tipo), então
+     * a união não repete pedidos mesmo sem locks
+     */
+    public List<Order> findByStatus(OrderStatus status) {
+        List<Order> result = new ArrayList<>();
+        for (Set<Order> orders : byStatusAndType.get(status.ordinal())) {
+            result.addAll(orders);
+        }
+        return result;
+    }
+
+    public List<Order> findByType(OrderType type) {
+        List<Order> result = new ArrayList<>();
+        lockAllForRead();
+        try {
+            for (List<Set<Order>> byType : byStatusAndType) {
+                result.addAll(byType.get(type.ordinal()));
+            }
+        } finally {
+            unlockAllForRead();
+        }
+        return result;
+    }
+
+    public List<Order> findByCustomer(String customerName) {
+        Set<Order> orders = byCustomer.get(customerName);
+        return orders == null ? Collections.emptyList() : new ArrayList<>(orders);
+    }
+
+    public List<Order> findAll() {
+        List<Order> result = new ArrayList<>();
+        lockAllForRead();
+        try {
+            for (List<Set<Order>> byType : byStatusAndType) {
+                for (Set<Order> orders : byType) {
+                    result.addAll(orders);
+                }
+            }
+        } finally {
+            unlockAllForRead();
+        }
+        return result;
+    }
+
+    public int countByStatus(OrderStatus status) {
+        int count = 0;
+        for (Set<Order> orders : byStatusAndType.get(status.ordinal())) {
+            count += orders.size();
+        }
+        return count;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.readLock().lock();
+            try {
+                size += shard.orders.size();
+            } finally {
+                shard.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void update(Order order) {
+        update(order, order.getStatus());
+    }
+
+    /**
+     * Move o pedido no índice de status quando ele muda de status
+     *
+     * Usa o status atual do pedido, e não o do evento: notificações de
+     * transições concorrentes podem chegar fora de ordem, e a última a ser
+     * processada sempre deixa o índice com o status vigente.
+     */
+    @Override
+    public void update(Order order, OrderStatus status) {
+        Shard shard = shardFor(order.getOrderId());
+        shard.lock.writeLock().lock();
+        try {
+            Entry entry = shard.orders.get(order.getOrderId());
+            OrderStatus current = order.getStatus();
+            if (entry == null || entry.order != order || entry.indexedStatus == current) {
+                return;
+            }
+            indexFor(entry.indexedStatus, order.getOrderType()).remove(order);
+            indexFor(current, order.getOrderType()).add(order);
+            entry.indexedStatus = current;
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Congela os índices: writers seguram o lock de um único shard, então
+     * adquirir todos na mesma ordem não causa deadlock
+     */
+    private void lockAllForRead() {
+        for (Shard shard : shards) {
+            shard.lock.readLock().lock();
+        }
+    }
+
+    private void unlockAllForRead() {
+        for (int i = shards.length - 1; i >= 0; i--) {
+            shards[i].lock.readLock().unlock();
+        }
+    }
+
+    private Set<Order> indexFor(OrderStatus status, OrderType type) {
+        return byStatusAndType.get(status.ordinal()).get(type.ordinal());
+    }
+
+    private Shard shardFor(int orderId) {
+        // Espalha IDs sequenciais entre os shards
+        int hash = orderId * 0x9E3779B9;
+        return shards[(hash ^ (hash >>> 16)) & shardMask];
+    }
+
+    private void index(Order order, OrderStatus status) {
+        indexFor(status, order.getOrderType()).add(order);
+        byCustomer.compute(order.getCustomerName(), (name, orders) -> {
+            Set<Order> result = orders == null ? ConcurrentHashMap.newKeySet() : orders;
+            result.add(order);
+            return result;
+        });
+    }
+
+    private void unindex(Entry entry) {
+        Order order = entry.order;
+        indexFor(entry.indexedStatus, order.getOrderType()).remove(order);
+        byCustomer.computeIfPresent(order.getCustomerName(), (name, orders) -> {
+            orders.remove(order);
+            return orders.isEmpty() ? null : orders;
+        });
+    }
+
+    private static final class Shard {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Integer, Entry> orders = new HashMap<>();
+    }
+
+    private static final class Entry {
+        private final Order order;
+        private OrderStatus indexedStatus;
+
+        private Entry(Order order, OrderStatus indexedStatus) {
+            this.order = order;
+            this.indexedStatus = indexedStatus;
+        }
+    }
+}
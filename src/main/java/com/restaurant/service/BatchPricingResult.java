@@ -0,0 +1,69 @@
+package com.restaurant.service;
+
+import com.restaurant.model.Money;
+import com.restaurant.model.Order;
+
+/**
+ * Resultado do cálculo de preços em lote
+ *
+ * Os valores ficam em arrays paralelos (em centavos), na mesma ordem dos
+ * pedidos recebidos, sem criar um objeto por pedido.
+ */
+public class BatchPricingResult {
+    private final Order[] orders;
+    private final long[] originalPrices;
+    private final long[] finalPrices;
+
+    BatchPricingResult(Order[] orders, long[] originalPrices, long[] finalPrices) {
+        this.orders = orders;
+        this.originalPrices = originalPrices;
+        this.finalPrices = finalPrices;
+    }
+
+    public int size() {
+        return orders.length;
+    }
+
+    public Order getOrder(int index) {
+        return orders[index];
+    }
+
+    /**
+     * Preço sem desconto (subtotal + taxas)
+     */
+    public long getOriginalPriceCents(int index) {
+        return originalPrices[index];
+    }
+
+    public long getFinalPriceCents(int index) {
+        return finalPrices[index];
+    }
+
+    public double getFinalPrice(int index) {
+        return Money.toReais(finalPrices[index]);
+    }
+
+    public long getDiscountCents(int index) {
+        return originalPrices[index] - finalPrices[index];
+    }
+
+    public long getTotalOriginalCents() {
+        return sum(originalPrices);
+    }
+
+    public long getTotalFinalCents() {
+        return sum(finalPrices);
+    }
+
+    public long getTotalDiscountCents() {
+        return getTotalOriginalCents() - getTotalFinalCents();
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+}
@@ -1,53 +1,245 @@
 package com.restaurant.service;
 
+import com.restaurant.model.Money;
 import com.restaurant.model.Order;
+import com.restaurant.output.ConsoleOutputSink;
+import com.restaurant.output.OutputSink;
+import com.restaurant.receipt.ReceiptRenderer;
+import com.restaurant.strategy.PricingRuleTable;
 import com.restaurant.strategy.PricingStrategy;
 import com.restaurant.strategy.RegularPricingStrategy;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * Serviço para gerenciar operações de pedidos
  * Utiliza o padrão Strategy para cálculo de preços
+ *
+ * A estratégia é escolhida a cada chamada a partir de uma tabela de regras
+ * imutável (PricingRuleTable), trocada de forma atômica. Assim uma única
+ * instância pode ser compartilhada por todas as threads sem que a estratégia
+ * de uma requisição vaze para outra.
  */
 public class OrderService {
-    private PricingStrategy pricingStrategy;
+    // Abaixo deste tamanho o lote é calculado na thread atual
+    static final int PARALLEL_THRESHOLD = 8_192;
+    // Tamanho das fatias processadas por cada tarefa do fork-join
+    static final int BATCH_CHUNK_SIZE = 4_096;
+
+    private final AtomicReference<PricingRuleTable> pricingRules;
+    private volatile PricingListener pricingListener;
+    private volatile OutputSink output = ConsoleOutputSink.INSTANCE;
 
     public OrderService() {
-        this.pricingStrategy = new RegularPricingStrategy();
+        this(new RegularPricingStrategy());
     }
 
     public OrderService(PricingStrategy pricingStrategy) {
-        this.pricingStrategy = pricingStrategy;
+        this(PricingRuleTable.of(pricingStrategy));
+    }
+
+    public OrderService(PricingRuleTable pricingRules) {
+        this.pricingRules = new AtomicReference<>(pricingRules);
     }
 
     /**
      * Permite trocar a estratégia de precificação em tempo de execução
+     * (passa a valer para todos os pedidos, substituindo as regras atuais)
      */
     public void setPricingStrategy(PricingStrategy pricingStrategy) {
-        this.pricingStrategy = pricingStrategy;
+        pricingRules.set(PricingRuleTable.of(pricingStrategy));
+    }
+
+    /**
+     * Publica uma nova tabela de regras; chamadas em andamento terminam com a anterior
+     */
+    public void setPricingRules(PricingRuleTable rules) {
+        pricingRules.set(rules);
+    }
+
+    /**
+     * Altera a tabela atual de forma atômica (ex.: incluir uma promoção)
+     */
+    public PricingRuleTable updatePricingRules(UnaryOperator<PricingRuleTable> update) {
+        return pricingRules.updateAndGet(update);
+    }
+
+    public PricingRuleTable getPricingRules() {
+        return pricingRules.get();
+    }
+
+    /**
+     * Registra quem recebe cada preço calculado pelo serviço (ex.: SalesAnalytics)
+     */
+    public void setPricingListener(PricingListener pricingListener) {
+        this.pricingListener = pricingListener;
+    }
+
+    /**
+     * Destino dos resumos de displayOrderSummary (por padrão, o console)
+     */
+    public void setOutputSink(OutputSink output) {
+        this.output = output;
+    }
+
+    /**
+     * Estratégia que seria aplicada ao pedido pelas regras atuais
+     */
+    public PricingStrategy resolvePricingStrategy(Order order) {
+        return pricingRules.get().resolve(order);
     }
 
     /**
      * Calcula o preço final do pedido usando a estratégia atual
      */
     public double calculateFinalPrice(Order order) {
-        return pricingStrategy.calculateFinalPrice(order);
+        return Money.toReais(calculateFinalPriceCents(order));
+    }
+
+    /**
+     * Calcula o preço final do pedido em centavos
+     */
+    public long calculateFinalPriceCents(Order order) {
+        return calculateFinalPriceCents(order, resolvePricingStrategy(order));
+    }
+
+    /**
+     * Calcula o preço final com uma estratégia específica desta chamada
+     * (ex.: cupom informado pelo cliente), sem alterar as regras do serviço
+     */
+    public long calculateFinalPriceCents(Order order, PricingStrategy strategy) {
+        long finalPrice = strategy.calculateFinalPriceCents(order);
+        PricingListener listener = pricingListener;
+        if (listener != null) {
+            listener.onPriced(order, strategy, order.getTotalPriceCents(), finalPrice);
+        }
+        return finalPrice;
+    }
+
+    /**
+     * Calcula em lote os preços finais (e descontos) de vários pedidos
+     *
+     * Todos os pedidos usam a tabela de regras vigente no início da chamada.
+     * Lotes grandes são divididos entre as threads do ForkJoinPool comum.
+     */
+    public BatchPricingResult calculateFinalPrices(Collection<? extends Order> orders) {
+        return calculateFinalPrices(orders.toArray(new Order[0]));
+    }
+
+    public BatchPricingResult calculateFinalPrices(Stream<? extends Order> orders) {
+        return calculateFinalPrices(orders.toArray(Order[]::new));
+    }
+
+    private BatchPricingResult calculateFinalPrices(Order[] orders) {
+        long[] totals = new long[orders.length];
+        long[] finalPrices = new long[orders.length];
+        PricingRuleTable rules = pricingRules.get();
+        PricingListener listener = pricingListener;
+        // Estratégia usada em cada pedido, guardada só se alguém vai recebê-la
+        PricingStrategy[] strategies = listener != null ? new PricingStrategy[orders.length] : null;
+        if (orders.length < PARALLEL_THRESHOLD) {
+            priceRange(rules, orders, totals, finalPrices, strategies, 0, orders.length);
+        } else {
+            ForkJoinPool.commonPool().invoke(
+                new PricingBatchTask(rules, orders, totals, finalPrices, strategies, 0, orders.length));
+        }
+        if (listener != null) {
+            for (int i = 0; i < orders.length; i++) {
+                listener.onPriced(orders[i], strategies[i], totals[i], finalPrices[i]);
+            }
+        }
+        return new BatchPricingResult(orders, totals, finalPrices);
     }
 
     /**
      * Exibe o resumo do pedido com a estratégia de preço aplicada
      */
     public void displayOrderSummary(Order order) {
-        System.out.println(order.toString());
-        
-        double originalPrice = order.getTotalPrice();
-        double finalPrice = calculateFinalPrice(order);
-        
-        if (finalPrice != originalPrice) {
-            System.out.println("Estratégia de Preço: " + pricingStrategy.getStrategyName());
-            System.out.println("Desconto aplicado: R$ " + 
-                             String.format("%.2f", originalPrice - finalPrice));
-            System.out.println("PREÇO FINAL: R$ " + String.format("%.2f", finalPrice));
-        }
-        System.out.println("=====================================\n");
+        PricingStrategy strategy = resolvePricingStrategy(order);
+        long originalPrice = order.getTotalPriceCents();
+        long finalPrice = calculateFinalPriceCents(order, strategy);
+        output.write(ReceiptRenderer.appendSummary(order, strategy.getStrategyName(), originalPrice,
+            finalPrice, ReceiptRenderer.buffer()));
+    }
+
+    /**
+     * Calcula a fatia [from, to); pedidos consecutivos com a mesma estratégia
+     * são enviados juntos ao cálculo em lote da estratégia
+     *
+     * @param strategies recebe a estratégia usada em cada pedido (pode ser null)
+     */
+    private static void priceRange(PricingRuleTable rules, Order[] orders, long[] totals, long[] finalPrices,
+                                   PricingStrategy[] strategies, int from, int to) {
+        for (int i = from; i < to; i++) {
+            totals[i] = orders[i].getTotalPriceCents();
+        }
+        if (from == to) {
+            return;
+        }
+        if (!rules.hasRules()) {
+            PricingStrategy strategy = rules.getDefaultStrategy();
+            strategy.calculateFinalPricesCents(orders, totals, from, to, finalPrices);
+            if (strategies != null) {
+                Arrays.fill(strategies, from, to, strategy);
+            }
+            return;
+        }
+        int runStart = from;
+        PricingStrategy runStrategy = rules.resolve(orders[from]);
+        for (int i = from + 1; i <= to; i++) {
+            PricingStrategy strategy = i < to ? rules.resolve(orders[i]) : null;
+            if (strategy != runStrategy) {
+                runStrategy.calculateFinalPricesCents(orders, totals, runStart, i, finalPrices);
+                if (strategies != null) {
+                    Arrays.fill(strategies, runStart, i, runStrategy);
+                }
+                runStart = i;
+                runStrategy = strategy;
+            }
+        }
+    }
+
+    /**
+     * Divide o lote ao meio até atingir BATCH_CHUNK_SIZE e então calcula a fatia
+     */
+    private static final class PricingBatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final PricingRuleTable rules;
+        private final Order[] orders;
+        private final long[] totals;
+        private final long[] finalPrices;
+        private final PricingStrategy[] strategies;
+        private final int from;
+        private final int to;
+
+        PricingBatchTask(PricingRuleTable rules, Order[] orders, long[] totals, long[] finalPrices,
+                         PricingStrategy[] strategies, int from, int to) {
+            this.rules = rules;
+            this.orders = orders;
+            this.totals = totals;
+            this.finalPrices = finalPrices;
+            this.strategies = strategies;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_CHUNK_SIZE) {
+                priceRange(rules, orders, totals, finalPrices, strategies, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(
+                new PricingBatchTask(rules, orders, totals, finalPrices, strategies, from, middle),
+                new PricingBatchTask(rules, orders, totals, finalPrices, strategies, middle, to)
+            );
+        }
     }
 }
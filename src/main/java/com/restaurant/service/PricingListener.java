@@ -0,0 +1,23 @@
+package com.restaurant.service;
+
+import com.restaurant.model.Order;
+import com.restaurant.strategy.PricingStrategy;
+
+/**
+ * Recebe cada preço calculado pelo OrderService (ex.: para relatórios de descontos)
+ *
+ * É chamado na thread que calculou o preço, então deve ser rápido e não bloquear.
+ */
+public interface PricingListener {
+    void onPriced(Order order, PricingStrategy strategy, long originalPriceCents, long finalPriceCents);
+
+    /**
+     * Listener que repassa cada preço a este e depois ao próximo (ex.: SalesAnalytics e PaymentPipeline)
+     */
+    default PricingListener andThen(PricingListener next) {
+        return (order, strategy, originalPriceCents, finalPriceCents) -> {
+            onPriced(order, strategy, originalPriceCents, finalPriceCents);
+            next.onPriced(order, strategy, originalPriceCents, finalPriceCents);
+        };
+    }
+}
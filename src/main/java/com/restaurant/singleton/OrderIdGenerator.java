@@ -0,0 +1,148 @@
+package com.restaurant.singleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gerador de IDs de pedido sem lock no caminho comum
+ *
+ * Cada thread (terminal) reserva um bloco de IDs com um único incremento
+ * atômico no contador global e depois distribui os IDs do bloco localmente.
+ * Os IDs são únicos e crescentes por thread; entre threads podem intercalar,
+ * e IDs não usados de um bloco são descartados quando a thread termina.
+ *
+ * Na versão persistente o gerador grava no arquivo um limite à frente do
+ * maior ID reservado (esquema hi/lo). Após um reinício os IDs continuam a
+ * partir desse limite e nunca repetem valores emitidos antes da queda.
+ */
+public class OrderIdGenerator {
+    public static final int DEFAULT_BLOCK_SIZE = 64;
+    private static final int DEFAULT_LEASE_BLOCKS = 64;
+
+    private final AtomicInteger nextBlockStart;
+    private final int blockSize;
+    private final ThreadLocal<IdBlock> blocks = ThreadLocal.withInitial(IdBlock::new);
+    private final Path stateFile;
+    private final int leaseSize;
+    private volatile int persistedLimit;
+
+    public OrderIdGenerator(int firstId, int blockSize) {
+        this(firstId, blockSize, null, 0);
+    }
+
+    private OrderIdGenerator(int firstId, int blockSize, Path stateFile, int leaseBlocks) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Tamanho do bloco deve ser positivo");
+        }
+        this.nextBlockStart = new AtomicInteger(firstId);
+        this.blockSize = blockSize;
+        this.stateFile = stateFile;
+        this.leaseSize = blockSize * leaseBlocks;
+        this.persistedLimit = firstId;
+    }
+
+    /**
+     * Cria um gerador que continua a numeração salva em stateFile (ou começa em 1)
+     */
+    public static OrderIdGenerator persistent(Path stateFile, int blockSize) {
+        int firstId = 1;
+        try {
+            if (Files.exists(stateFile)) {
+                firstId = Integer.parseInt(new String(Files.readAllBytes(stateFile), StandardCharsets.US_ASCII).trim());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível ler o estado dos IDs de pedido", e);
+        }
+        return new OrderIdGenerator(firstId, blockSize, stateFile, DEFAULT_LEASE_BLOCKS);
+    }
+
+    /**
+     * Próximo ID para a thread atual
+     */
+    public int nextId() {
+        IdBlock block = blocks.get();
+        if (block.next == block.limit) {
+            reserveBlock(block);
+        }
+        return block.next++;
+    }
+
+    /**
+     * Próximo ID que a thread atual receberá
+     */
+    public int peekNextId() {
+        IdBlock block = blocks.get();
+        return block.next == block.limit ? nextBlockStart.get() : block.next;
+    }
+
+    /**
+     * Grava o próximo ID ainda não reservado, para um reinício sem lacunas
+     * após um encerramento limpo
+     *
+     * Nunca grava um valor abaixo de um bloco já entregue: o limite em memória
+     * é reduzido antes da segunda leitura do contador, então quem reservar
+     * depois dela passa por extendLease (que espera este método), e quem
+     * reservou antes aparece na leitura e mantém o arquivo à frente dele.
+     */
+    public synchronized void persist() {
+        if (stateFile == null) {
+            throw new IllegalStateException("Gerador de IDs não é persistente");
+        }
+        int next = nextBlockStart.get();
+        persistedLimit = next;
+        int reserved = nextBlockStart.get();
+        if (reserved == next) {
+            write(next);
+        } else {
+            // Blocos reservados entre as leituras podem ter visto o limite antigo
+            int limit = reserved + leaseSize;
+            write(limit);
+            persistedLimit = limit;
+        }
+    }
+
+    private void reserveBlock(IdBlock block) {
+        int start = nextBlockStart.getAndAdd(blockSize);
+        int limit = start + blockSize;
+        if (limit < start) {
+            throw new IllegalStateException("IDs de pedido esgotados");
+        }
+        if (stateFile != null && limit > persistedLimit) {
+            extendLease(limit);
+        }
+        block.next = start;
+        block.limit = limit;
+    }
+
+    /**
+     * Caminho raro: só é executado a cada leaseSize IDs reservados
+     */
+    private synchronized void extendLease(int requiredLimit) {
+        if (requiredLimit <= persistedLimit) {
+            return;
+        }
+        int newLimit = Math.max(requiredLimit, nextBlockStart.get()) + leaseSize;
+        write(newLimit);
+        persistedLimit = newLimit;
+    }
+
+    private void write(int value) {
+        try {
+            Path tmp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            Files.write(tmp, Integer.toString(value).getBytes(StandardCharsets.US_ASCII));
+            Files.move(tmp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gravar o estado dos IDs de pedido", e);
+        }
+    }
+
+    private static final class IdBlock {
+        private int next;
+        private int limit;
+    }
+}
@@ -14,7 +14,7 @@ public class RestaurantConfig {
     private String address;
     private String phone;
     private boolean isOpen;
-    private int nextOrderId;
+    private volatile OrderIdGenerator orderIdGenerator;
 
     /**
      * Holder estático interno - carregado apenas quando getInstance() é chamado
@@ -32,7 +32,7 @@ public class RestaurantConfig {
         this.address = "Rua dos Devs, 999";
         this.phone = "(99) 99999-9999";
         this.isOpen = true;
-        this.nextOrderId = 1;
+        this.orderIdGenerator = new OrderIdGenerator(1, OrderIdGenerator.DEFAULT_BLOCK_SIZE);
     }
 
     /**
@@ -43,10 +43,21 @@ public class RestaurantConfig {
     }
 
     /**
-     * Gera o próximo ID de pedido de forma thread-safe
+     * Gera o próximo ID de pedido de forma thread-safe, sem lock no caminho comum
      */
-    public synchronized int generateOrderId() {
-        return nextOrderId++;
+    public int generateOrderId() {
+        return orderIdGenerator.nextId();
+    }
+
+    /**
+     * Substitui o gerador de IDs (ex.: por um persistente na inicialização)
+     */
+    public void setOrderIdGenerator(OrderIdGenerator orderIdGenerator) {
+        this.orderIdGenerator = orderIdGenerator;
+    }
+
+    public OrderIdGenerator getOrderIdGenerator() {
+        return orderIdGenerator;
     }
 
     // Getters e Setters
@@ -88,7 +99,7 @@ public class RestaurantConfig {
         System.out.println("Endereço: " + address);
         System.out.println("Telefone: " + phone);
         System.out.println("Status: " + (isOpen ? "ABERTO" : "FECHADO"));
-        System.out.println("Próximo ID de Pedido: " + nextOrderId);
+        System.out.println("Próximo ID de Pedido: " + orderIdGenerator.peekNextId());
     }
 
     /**
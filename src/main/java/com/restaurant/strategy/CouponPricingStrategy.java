@@ -1,5 +1,6 @@
 package com.restaurant.strategy;
 
+import com.restaurant.model.Money;
 import com.restaurant.model.Order;
 
 /**
@@ -8,23 +9,31 @@ import com.restaurant.model.Order;
  * Estratégia de preço com cupom de desconto fixo
  */
 public class CouponPricingStrategy implements PricingStrategy {
-    private double discountAmount;
+    private long discountCents;
     private String couponCode;
     
     public CouponPricingStrategy(String couponCode, double discountAmount) {
         this.couponCode = couponCode;
-        this.discountAmount = discountAmount;
+        this.discountCents = Money.ofReais(discountAmount);
     }
     
     @Override
-    public double calculateFinalPrice(Order order) {
-        double totalPrice = order.getTotalPrice();
-        double finalPrice = totalPrice - discountAmount;
-        return Math.max(finalPrice, 0.0); // Não pode ser negativo
+    public long calculateFinalPriceCents(Order order) {
+        long totalPrice = order.getTotalPriceCents();
+        long finalPrice = totalPrice - discountCents;
+        return Math.max(finalPrice, 0); // Não pode ser negativo
+    }
+
+    @Override
+    public void calculateFinalPricesCents(Order[] orders, long[] totals, int from, int to, long[] finalPrices) {
+        long discount = discountCents;
+        for (int i = from; i < to; i++) {
+            finalPrices[i] = Math.max(totals[i] - discount, 0);
+        }
     }
 
     @Override
     public String getStrategyName() {
-        return "Cupom " + couponCode + " (R$ " + String.format("%.2f", discountAmount) + " OFF)";
+        return "Cupom " + couponCode + " (R$ " + Money.format(discountCents) + " OFF)";
     }
 }
@@ -0,0 +1,260 @@
+package com.restaurant.strategy;
+
+import com.restaurant.model.Money;
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderType;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * PADRÃO STRATEGY - Concrete Strategy
+ *
+ * Combina várias promoções em uma única estratégia de preço
+ *
+ * As promoções ativas são pré-compiladas em um plano plano: para cada
+ * combinação de tipo de pedido e dia da semana, o dia é dividido em faixas
+ * de horário e cada faixa guarda arrays com as regras vigentes, já ordenadas
+ * por prioridade. Faixas com as mesmas regras, em qualquer plano, compartilham
+ * os mesmos arrays. A avaliação de um pedido é uma busca binária pela faixa
+ * seguida de um laço sobre esses arrays, sem reflexão nem consultas a mapas.
+ *
+ * Uma janela que passa da meia-noite (ex.: sexta 22:00-02:00) vale das 22:00
+ * às 24:00 de sexta e das 00:00 às 02:00 de sábado.
+ *
+ * Semântica da combinação, na ordem de prioridade:
+ * - descontos percentuais incidem sobre o preço corrente (já descontado);
+ * - cada regra respeita o próprio teto e nunca deixa o preço negativo;
+ * - uma regra exclusiva só se aplica se nenhuma outra foi aplicada e encerra a avaliação;
+ * - o desconto total é limitado pelo teto global do plano, se houver.
+ */
+public final class DiscountRuleEngine implements PricingStrategy {
+    private static final OrderType[] ORDER_TYPES = OrderType.values();
+    private static final DayOfWeek[] DAYS = DayOfWeek.values();
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final List<Promotion> promotions;
+    private final long maxTotalDiscountCents;
+    // Indexado por tipo de pedido * 7 + dia da semana
+    private final Plan[] plans;
+
+    private DiscountRuleEngine(List<Promotion> promotions, long maxTotalDiscountCents) {
+        this.promotions = promotions;
+        this.maxTotalDiscountCents = maxTotalDiscountCents;
+        this.plans = new Plan[ORDER_TYPES.length * DAYS.length];
+        Map<List<Promotion>, Segment> segments = new HashMap<>();
+        for (OrderType type : ORDER_TYPES) {
+            for (DayOfWeek day : DAYS) {
+                DayOfWeek previousDay = day.minus(1);
+                Set<Promotion> today = new HashSet<>();
+                Set<Promotion> carried = new HashSet<>();
+                for (Promotion promotion : promotions) {
+                    if (!promotion.getOrderTypes().contains(type)) {
+                        continue;
+                    }
+                    Set<DayOfWeek> days = promotion.getDays();
+                    if (days.contains(day)) {
+                        today.add(promotion);
+                    }
+                    if (days.contains(previousDay) && promotion.getStartMinute() > promotion.getEndMinute()) {
+                        carried.add(promotion);
+                    }
+                }
+                plans[planIndex(type, day)] = new Plan(promotions, today, carried, segments);
+            }
+        }
+    }
+
+    /**
+     * Compila as promoções sem teto global de desconto
+     */
+    public static DiscountRuleEngine compile(Collection<Promotion> promotions) {
+        return compile(promotions, 0);
+    }
+
+    /**
+     * Compila as promoções limitando o desconto total por pedido (0 = sem teto)
+     */
+    public static DiscountRuleEngine compile(Collection<Promotion> promotions, double maxTotalDiscount) {
+        List<Promotion> sorted = new ArrayList<>(promotions);
+        // Ordenação estável: empates mantêm a ordem de cadastro
+        sorted.sort(Comparator.comparingInt(Promotion::getPriority));
+        return new DiscountRuleEngine(Collections.unmodifiableList(sorted), Money.ofReais(maxTotalDiscount));
+    }
+
+    @Override
+    public long calculateFinalPriceCents(Order order) {
+        long total = order.getTotalPriceCents();
+        LocalDateTime time = order.getOrderTime();
+        Plan plan = plans[planIndex(order.getOrderType(), time.getDayOfWeek())];
+        return plan.evaluate(total, time.getHour() * 60 + time.getMinute(), maxTotalDiscountCents, null);
+    }
+
+    @Override
+    public void calculateFinalPricesCents(Order[] orders, long[] totals, int from, int to, long[] finalPrices) {
+        long maxTotalDiscount = maxTotalDiscountCents;
+        for (int i = from; i < to; i++) {
+            LocalDateTime time = orders[i].getOrderTime();
+            Plan plan = plans[planIndex(orders[i].getOrderType(), time.getDayOfWeek())];
+            finalPrices[i] = plan.evaluate(totals[i], time.getHour() * 60 + time.getMinute(), maxTotalDiscount, null);
+        }
+    }
+
+    /**
+     * Promoções efetivamente aplicadas ao pedido, na ordem de aplicação
+     */
+    public List<Promotion> appliedPromotions(Order order) {
+        LocalDateTime time = order.getOrderTime();
+        Plan plan = plans[planIndex(order.getOrderType(), time.getDayOfWeek())];
+        List<Promotion> applied = new ArrayList<>();
+        plan.evaluate(order.getTotalPriceCents(), time.getHour() * 60 + time.getMinute(), maxTotalDiscountCents, applied);
+        return applied;
+    }
+
+    public List<Promotion> getPromotions() {
+        return promotions;
+    }
+
+    @Override
+    public String getStrategyName() {
+        return "Promoções (" + promotions.size() + " regras)";
+    }
+
+    private static int planIndex(OrderType type, DayOfWeek day) {
+        return type.ordinal() * DAYS.length + day.ordinal();
+    }
+
+    /**
+     * Indica se a janela do próprio dia cobre o minuto; a parte de uma janela
+     * que passa da meia-noite pertence ao dia seguinte
+     */
+    private static boolean inTodayWindow(int start, int end, int minute) {
+        // Janela com início igual ao fim vale o dia inteiro
+        if (start == end) {
+            return true;
+        }
+        return start < end ? minute >= start && minute < end : minute >= start;
+    }
+
+    /**
+     * Regras aplicáveis a um tipo de pedido em um dia da semana, divididas em
+     * faixas de horário delimitadas pelas bordas das janelas das promoções
+     */
+    private static final class Plan {
+        private final int[] segmentStarts;
+        private final Segment[] segments;
+
+        /**
+         * @param promotions todas as promoções, em ordem de prioridade
+         * @param today promoções cadastradas para o dia
+         * @param carried promoções do dia anterior cuja janela passa da meia-noite
+         * @param shared segmentos já montados, por lista de regras vigentes
+         */
+        Plan(List<Promotion> promotions, Set<Promotion> today, Set<Promotion> carried,
+             Map<List<Promotion>, Segment> shared) {
+            TreeSet<Integer> boundaries = new TreeSet<>();
+            boundaries.add(0);
+            for (Promotion promotion : today) {
+                boundaries.add(promotion.getStartMinute() % MINUTES_PER_DAY);
+                boundaries.add(promotion.getEndMinute() % MINUTES_PER_DAY);
+            }
+            for (Promotion promotion : carried) {
+                boundaries.add(promotion.getEndMinute());
+            }
+            List<Integer> starts = new ArrayList<>(boundaries.size());
+            List<Segment> found = new ArrayList<>(boundaries.size());
+            for (int minute : boundaries) {
+                List<Promotion> active = new ArrayList<>();
+                for (Promotion promotion : promotions) {
+                    int start = promotion.getStartMinute();
+                    int end = promotion.getEndMinute();
+                    if ((today.contains(promotion) && inTodayWindow(start, end, minute))
+                            || (minute < end && carried.contains(promotion))) {
+                        active.add(promotion);
+                    }
+                }
+                Segment segment = shared.computeIfAbsent(active, Segment::new);
+                // Faixas vizinhas com as mesmas regras viram uma só
+                if (found.isEmpty() || found.get(found.size() - 1) != segment) {
+                    starts.add(minute);
+                    found.add(segment);
+                }
+            }
+            segmentStarts = new int[starts.size()];
+            for (int i = 0; i < segmentStarts.length; i++) {
+                segmentStarts[i] = starts.get(i);
+            }
+            segments = found.toArray(new Segment[0]);
+        }
+
+        long evaluate(long total, int minute, long maxTotalDiscount, List<Promotion> applied) {
+            int index = Arrays.binarySearch(segmentStarts, minute);
+            Segment segment = segments[index >= 0 ? index : -index - 2];
+            return segment.evaluate(total, maxTotalDiscount, applied);
+        }
+    }
+
+    /**
+     * Regras vigentes em uma faixa de horário, em arrays paralelos
+     */
+    private static final class Segment {
+        private final Promotion[] promotions;
+        private final boolean[] percent;
+        private final long[] amounts;
+        private final long[] caps;
+        private final boolean[] exclusive;
+        private final long[] minimumTotals;
+
+        Segment(List<Promotion> active) {
+            int size = active.size();
+            promotions = active.toArray(new Promotion[0]);
+            percent = new boolean[size];
+            amounts = new long[size];
+            caps = new long[size];
+            exclusive = new boolean[size];
+            minimumTotals = new long[size];
+            for (int i = 0; i < size; i++) {
+                Promotion promotion = promotions[i];
+                percent[i] = promotion.getKind() == Promotion.Kind.PERCENT;
+                amounts[i] = promotion.getAmount();
+                caps[i] = promotion.getMaxDiscountCents() > 0 ? promotion.getMaxDiscountCents() : Long.MAX_VALUE;
+                exclusive[i] = promotion.isExclusive();
+                minimumTotals[i] = promotion.getMinimumTotalCents();
+            }
+        }
+
+        long evaluate(long total, long maxTotalDiscount, List<Promotion> applied) {
+            long price = total;
+            boolean anyApplied = false;
+            for (int i = 0; i < amounts.length; i++) {
+                if (total < minimumTotals[i] || (exclusive[i] && anyApplied)) {
+                    continue;
+                }
+                long discount = percent[i] ? Money.percentOf(price, amounts[i]) : amounts[i];
+                discount = Math.min(Math.min(discount, caps[i]), price);
+                price -= discount;
+                anyApplied = true;
+                if (applied != null) {
+                    applied.add(promotions[i]);
+                }
+                if (exclusive[i]) {
+                    break;
+                }
+            }
+            if (maxTotalDiscount > 0 && total - price > maxTotalDiscount) {
+                price = total - maxTotalDiscount;
+            }
+            return price;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.restaurant.strategy;
 
+import com.restaurant.model.Money;
 import com.restaurant.model.Order;
 
 /**
@@ -8,15 +9,22 @@ import com.restaurant.model.Order;
  * Estratégia de preço com desconto de Happy Hour (20% de desconto)
  */
 public class HappyHourPricingStrategy implements PricingStrategy {
-    private static final double DISCOUNT_PERCENTAGE = 0.20; // 20% de desconto
+    private static final long DISCOUNT_BASIS_POINTS = 2_000; // 20% de desconto
     
     @Override
-    public double calculateFinalPrice(Order order) {
-        double totalPrice = order.getTotalPrice();
-        double discount = totalPrice * DISCOUNT_PERCENTAGE;
+    public long calculateFinalPriceCents(Order order) {
+        long totalPrice = order.getTotalPriceCents();
+        long discount = Money.percentOf(totalPrice, DISCOUNT_BASIS_POINTS);
         return totalPrice - discount;
     }
 
+    @Override
+    public void calculateFinalPricesCents(Order[] orders, long[] totals, int from, int to, long[] finalPrices) {
+        for (int i = from; i < to; i++) {
+            finalPrices[i] = totals[i] - Money.percentOf(totals[i], DISCOUNT_BASIS_POINTS);
+        }
+    }
+
     @Override
     public String getStrategyName() {
         return "Happy Hour (20% OFF)";
@@ -1,5 +1,6 @@
 package com.restaurant.strategy;
 
+import com.restaurant.model.Money;
 import com.restaurant.model.Order;
 
 /**
@@ -9,29 +10,36 @@ import com.restaurant.model.Order;
  */
 public class LoyaltyPricingStrategy implements PricingStrategy {
     private int loyaltyPoints;
-    private static final double DISCOUNT_PER_100_POINTS = 0.05; // 5% a cada 100 pontos
-    private static final double MAX_DISCOUNT = 0.30; // Máximo 30% de desconto
+    private static final long DISCOUNT_PER_100_POINTS = 500; // 5% a cada 100 pontos (pontos-base)
+    private static final long MAX_DISCOUNT = 3_000; // Máximo 30% de desconto
     
     public LoyaltyPricingStrategy(int loyaltyPoints) {
         this.loyaltyPoints = loyaltyPoints;
     }
     
     @Override
-    public double calculateFinalPrice(Order order) {
-        double totalPrice = order.getTotalPrice();
+    public long calculateFinalPriceCents(Order order) {
+        long totalPrice = order.getTotalPriceCents();
         
         // Calcula desconto baseado nos pontos
-        double discountPercentage = (loyaltyPoints / 100) * DISCOUNT_PER_100_POINTS;
-        discountPercentage = Math.min(discountPercentage, MAX_DISCOUNT);
+        long discountBasisPoints = (loyaltyPoints / 100) * DISCOUNT_PER_100_POINTS;
+        discountBasisPoints = Math.min(discountBasisPoints, MAX_DISCOUNT);
         
-        double discount = totalPrice * discountPercentage;
+        long discount = Money.percentOf(totalPrice, discountBasisPoints);
         return totalPrice - discount;
     }
 
+    @Override
+    public void calculateFinalPricesCents(Order[] orders, long[] totals, int from, int to, long[] finalPrices) {
+        long discountBasisPoints = Math.min((loyaltyPoints / 100) * DISCOUNT_PER_100_POINTS, MAX_DISCOUNT);
+        for (int i = from; i < to; i++) {
+            finalPrices[i] = totals[i] - Money.percentOf(totals[i], discountBasisPoints);
+        }
+    }
+
     @Override
     public String getStrategyName() {
-        int discountPercent = (int)((loyaltyPoints / 100) * DISCOUNT_PER_100_POINTS * 100);
-        discountPercent = Math.min(discountPercent, 30);
+        long discountPercent = Math.min((loyaltyPoints / 100) * DISCOUNT_PER_100_POINTS, MAX_DISCOUNT) / 100;
         return "Programa Fidelidade (" + loyaltyPoints + " pontos - " + discountPercent + "% OFF)";
     }
 }
@@ -0,0 +1,119 @@
+package com.restaurant.strategy;
+
+import com.restaurant.model.Order;
+import com.restaurant.model.OrderType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Tabela imutável que escolhe a estratégia de preço de cada pedido
+ *
+ * As regras são avaliadas na ordem em que foram cadastradas e a primeira cuja
+ * condição aceita o pedido define a estratégia; se nenhuma aceitar, vale a
+ * estratégia padrão. Por ser imutável, a tabela pode ser lida por várias
+ * threads sem sincronização e trocada inteira de forma atômica.
+ *
+ * Exemplo:
+ * <pre>
+ * PricingRuleTable rules = PricingRuleTable.builder()
+ *     .whenType(OrderType.DELIVERY, new CouponPricingStrategy("FRETE", 5.00))
+ *     .whenCustomer("Maria Silva", new LoyaltyPricingStrategy(300))
+ *     .otherwise(new RegularPricingStrategy())
+ *     .build();
+ * </pre>
+ */
+public final class PricingRuleTable {
+    private final Rule[] rules;
+    private final PricingStrategy defaultStrategy;
+
+    private PricingRuleTable(Rule[] rules, PricingStrategy defaultStrategy) {
+        this.rules = rules;
+        this.defaultStrategy = defaultStrategy;
+    }
+
+    /**
+     * Tabela sem regras: todos os pedidos usam a mesma estratégia
+     */
+    public static PricingRuleTable of(PricingStrategy defaultStrategy) {
+        return builder().otherwise(defaultStrategy).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Estratégia aplicável ao pedido
+     */
+    public PricingStrategy resolve(Order order) {
+        for (Rule rule : rules) {
+            if (rule.condition.test(order)) {
+                return rule.strategy;
+            }
+        }
+        return defaultStrategy;
+    }
+
+    public PricingStrategy getDefaultStrategy() {
+        return defaultStrategy;
+    }
+
+    /**
+     * Indica se todos os pedidos usam a estratégia padrão
+     */
+    public boolean hasRules() {
+        return rules.length > 0;
+    }
+
+    /**
+     * Novo builder com as regras desta tabela, para derivar uma versão alterada
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        for (Rule rule : rules) {
+            builder.when(rule.condition, rule.strategy);
+        }
+        return builder.otherwise(defaultStrategy);
+    }
+
+    public static final class Builder {
+        private final List<Rule> rules = new ArrayList<>();
+        private PricingStrategy defaultStrategy = new RegularPricingStrategy();
+
+        private Builder() {
+        }
+
+        public Builder when(Predicate<Order> condition, PricingStrategy strategy) {
+            rules.add(new Rule(condition, strategy));
+            return this;
+        }
+
+        public Builder whenType(OrderType orderType, PricingStrategy strategy) {
+            return when(order -> order.getOrderType() == orderType, strategy);
+        }
+
+        public Builder whenCustomer(String customerName, PricingStrategy strategy) {
+            return when(order -> customerName.equals(order.getCustomerName()), strategy);
+        }
+
+        public Builder otherwise(PricingStrategy strategy) {
+            this.defaultStrategy = strategy;
+            return this;
+        }
+
+        public PricingRuleTable build() {
+            return new PricingRuleTable(rules.toArray(new Rule[0]), defaultStrategy);
+        }
+    }
+
+    private static final class Rule {
+        private final Predicate<Order> condition;
+        private final PricingStrategy strategy;
+
+        private Rule(Predicate<Order> condition, PricingStrategy strategy) {
+            this.condition = condition;
+            this.strategy = strategy;
+        }
+    }
+}
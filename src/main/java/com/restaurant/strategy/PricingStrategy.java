@@ -1,5 +1,6 @@
 package com.restaurant.strategy;
 
+import com.restaurant.model.Money;
 import com.restaurant.model.Order;
 
 /**
@@ -9,6 +10,27 @@ import com.restaurant.model.Order;
  * Permite trocar o algoritmo de precificação em tempo de execução
  */
 public interface PricingStrategy {
-    double calculateFinalPrice(Order order);
+    /**
+     * Preço final em centavos
+     */
+    long calculateFinalPriceCents(Order order);
+
+    default double calculateFinalPrice(Order order) {
+        return Money.toReais(calculateFinalPriceCents(order));
+    }
+
+    /**
+     * Calcula em lote os preços finais de orders[from, to) em finalPrices,
+     * a partir dos totais já calculados em totals
+     *
+     * As estratégias concretas sobrescrevem com um laço especializado, evitando
+     * uma chamada virtual por pedido no reprocessamento de grandes volumes.
+     */
+    default void calculateFinalPricesCents(Order[] orders, long[] totals, int from, int to, long[] finalPrices) {
+        for (int i = from; i < to; i++) {
+            finalPrices[i] = calculateFinalPriceCents(orders[i]);
+        }
+    }
+
     String getStrategyName();
 }
@@ -0,0 +1,214 @@
+package com.restaurant.strategy;
+
+import com.restaurant.model.Money;
+import com.restaurant.model.OrderType;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Regra de desconto usada pelo DiscountRuleEngine
+ *
+ * Define o desconto (percentual ou valor fixo), quando ele vale (tipos de
+ * pedido, dias da semana, janela de horário, subtotal mínimo) e como ele se
+ * combina com as demais regras (prioridade, teto e exclusividade).
+ */
+public final class Promotion {
+    public enum Kind {
+        /** amount em pontos-base (2000 = 20%) sobre o preço corrente */
+        PERCENT,
+        /** amount em centavos */
+        FIXED
+    }
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final String name;
+    private final int priority;
+    private final Kind kind;
+    private final long amount;
+    private final long maxDiscountCents;
+    private final boolean exclusive;
+    private final Set<OrderType> orderTypes;
+    private final Set<DayOfWeek> days;
+    private final int startMinute;
+    private final int endMinute;
+    private final long minimumTotalCents;
+
+    private Promotion(Builder builder) {
+        this.name = builder.name;
+        this.priority = builder.priority;
+        this.kind = builder.kind;
+        this.amount = builder.amount;
+        this.maxDiscountCents = builder.maxDiscountCents;
+        this.exclusive = builder.exclusive;
+        this.orderTypes = EnumSet.copyOf(builder.orderTypes);
+        this.days = EnumSet.copyOf(builder.days);
+        this.startMinute = builder.startMinute;
+        this.endMinute = builder.endMinute;
+        this.minimumTotalCents = builder.minimumTotalCents;
+    }
+
+    public static Builder percent(String name, long basisPoints) {
+        return new Builder(name, Kind.PERCENT, basisPoints);
+    }
+
+    public static Builder fixed(String name, long cents) {
+        return new Builder(name, Kind.FIXED, cents);
+    }
+
+    /**
+     * Equivalente ao HappyHourPricingStrategy (20%), restrito a uma janela de horário
+     */
+    public static Builder happyHour(LocalTime start, LocalTime end) {
+        return percent("Happy Hour (20% OFF)", 2_000).between(start, end);
+    }
+
+    /**
+     * Equivalente ao CouponPricingStrategy
+     */
+    public static Builder coupon(String couponCode, double discountAmount) {
+        return fixed("Cupom " + couponCode, Money.ofReais(discountAmount));
+    }
+
+    /**
+     * Equivalente ao LoyaltyPricingStrategy (5% a cada 100 pontos, máximo 30%)
+     */
+    public static Builder loyalty(int loyaltyPoints) {
+        long basisPoints = Math.min((loyaltyPoints / 100) * 500L, 3_000L);
+        return percent("Programa Fidelidade (" + loyaltyPoints + " pontos)", basisPoints);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    /**
+     * Teto do desconto desta regra em centavos (0 = sem teto)
+     */
+    public long getMaxDiscountCents() {
+        return maxDiscountCents;
+    }
+
+    /**
+     * Regra exclusiva só se aplica se nenhuma outra foi aplicada antes
+     * e impede as seguintes
+     */
+    public boolean isExclusive() {
+        return exclusive;
+    }
+
+    public Set<OrderType> getOrderTypes() {
+        return EnumSet.copyOf(orderTypes);
+    }
+
+    public Set<DayOfWeek> getDays() {
+        return EnumSet.copyOf(days);
+    }
+
+    /**
+     * Início da janela em minutos do dia (inclusivo)
+     */
+    public int getStartMinute() {
+        return startMinute;
+    }
+
+    /**
+     * Fim da janela em minutos do dia (exclusivo); menor que o início quando passa da meia-noite
+     */
+    public int getEndMinute() {
+        return endMinute;
+    }
+
+    public long getMinimumTotalCents() {
+        return minimumTotalCents;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final Kind kind;
+        private final long amount;
+        private int priority;
+        private long maxDiscountCents;
+        private boolean exclusive;
+        private Set<OrderType> orderTypes = EnumSet.allOf(OrderType.class);
+        private Set<DayOfWeek> days = EnumSet.allOf(DayOfWeek.class);
+        private int startMinute = 0;
+        private int endMinute = MINUTES_PER_DAY;
+        private long minimumTotalCents;
+
+        private Builder(String name, Kind kind, long amount) {
+            if (amount < 0) {
+                throw new IllegalArgumentException("Desconto não pode ser negativo");
+            }
+            this.name = Objects.requireNonNull(name);
+            this.kind = kind;
+            this.amount = amount;
+        }
+
+        /**
+         * Ordem de avaliação: menor valor primeiro
+         */
+        public Builder priority(int priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        public Builder maxDiscount(double maxDiscount) {
+            this.maxDiscountCents = Money.ofReais(maxDiscount);
+            return this;
+        }
+
+        public Builder exclusive() {
+            this.exclusive = true;
+            return this;
+        }
+
+        public Builder onlyFor(OrderType first, OrderType... others) {
+            this.orderTypes = EnumSet.of(first, others);
+            return this;
+        }
+
+        public Builder on(DayOfWeek first, DayOfWeek... others) {
+            this.days = EnumSet.of(first, others);
+            return this;
+        }
+
+        /**
+         * Janela de horário [start, end); aceita janelas que passam da meia-noite
+         */
+        public Builder between(LocalTime start, LocalTime end) {
+            this.startMinute = start.getHour() * 60 + start.getMinute();
+            this.endMinute = end.getHour() * 60 + end.getMinute();
+            return this;
+        }
+
+        public Builder minimumTotal(double minimumTotal) {
+            this.minimumTotalCents = Money.ofReais(minimumTotal);
+            return this;
+        }
+
+        public Promotion build() {
+            return new Promotion(this);
+        }
+    }
+}
@@ -10,8 +10,13 @@ import com.restaurant.model.Order;
 public class RegularPricingStrategy implements PricingStrategy {
     
     @Override
-    public double calculateFinalPrice(Order order) {
-        return order.getTotalPrice();
+    public long calculateFinalPriceCents(Order order) {
+        return order.getTotalPriceCents();
+    }
+
+    @Override
+    public void calculateFinalPricesCents(Order[] orders, long[] totals, int from, int to, long[] finalPrices) {
+        System.arraycopy(totals, from, finalPrices, from, to - from);
     }
 
     @Override